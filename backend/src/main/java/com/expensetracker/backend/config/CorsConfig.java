@@ -23,6 +23,8 @@ public class CorsConfig {
         }
         config.addAllowedHeader("*");
         config.addAllowedMethod("*");
+        // Lets browser clients read the tag for conditional requests
+        config.addExposedHeader("ETag");
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
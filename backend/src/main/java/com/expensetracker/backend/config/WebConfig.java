@@ -0,0 +1,24 @@
+package com.expensetracker.backend.config;
+
+import com.expensetracker.backend.controller.ExpenseETagInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ExpenseETagInterceptor expenseETags;
+
+    public WebConfig(ExpenseETagInterceptor expenseETags) {
+        this.expenseETags = expenseETags;
+    }
+
+    // Reads derived from the ledger alone; import job progress and the streamed export are left out
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(expenseETags)
+                .addPathPatterns("/api/expenses", "/api/expenses/*", "/api/expenses/analytics/*")
+                .excludePathPatterns("/api/expenses/export");
+    }
+}
@@ -2,8 +2,11 @@ package com.expensetracker.backend.controller;
 
 import com.expensetracker.backend.model.Category;
 import com.expensetracker.backend.repository.CategoryRepository;
-import com.expensetracker.backend.repository.AppUserRepository;
+import com.expensetracker.backend.service.CategoryCache;
+import com.expensetracker.backend.service.UserCategories;
+import com.expensetracker.backend.service.UserIdCache;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,28 +19,34 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryRepository repo;
-    private final AppUserRepository users;
+    private final CategoryCache cache;
+    private final UserIdCache users;
 
-    public CategoryController(CategoryRepository repo, AppUserRepository users) {
+    public CategoryController(CategoryRepository repo, CategoryCache cache, UserIdCache users) {
         this.repo = repo;
+        this.cache = cache;
         this.users = users;
     }
 
     private Long userId(Principal principal) {
-        return users.findByUsername(principal.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"))
-                .getId();
+        return users.idFor(principal.getName());
     }
 
+    // Served from the cache with an ETag; a matching If-None-Match gets an empty 304. no-cache (not no-store)
+    // lets the browser keep the list and revalidate it on each page load.
     @GetMapping
-    public List<Category> list(Principal principal) {
-        return repo.findByUserId(userId(principal));
+    public ResponseEntity<List<Category>> list(Principal principal) {
+        UserCategories categories = cache.forUser(userId(principal));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(categories.etag())
+                .body(categories.list());
     }
 
     @PostMapping
     public ResponseEntity<Category> create(@Valid @RequestBody Category category, Principal principal) {
         Long uid = userId(principal);
-        if (repo.existsByUserIdAndName(uid, category.getName())) {
+        if (cache.forUser(uid).byName(category.getName()).isPresent()) {
             throw new IllegalArgumentException("Category already exists");
         }
         category.setUserId(uid);
@@ -0,0 +1,56 @@
+package com.expensetracker.backend.controller;
+
+import com.expensetracker.backend.model.CategoryRule;
+import com.expensetracker.backend.service.CategoryRuleService;
+import com.expensetracker.backend.service.RecategorizeResult;
+import com.expensetracker.backend.service.UserIdCache;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/category-rules")
+public class CategoryRuleController {
+
+    private final CategoryRuleService rules;
+    private final UserIdCache users;
+
+    public CategoryRuleController(CategoryRuleService rules, UserIdCache users) {
+        this.rules = rules;
+        this.users = users;
+    }
+
+    private Long userId(Principal principal) {
+        return users.idFor(principal.getName());
+    }
+
+    @GetMapping
+    public List<CategoryRule> list(Principal principal) {
+        return rules.list(userId(principal));
+    }
+
+    @PostMapping
+    public ResponseEntity<CategoryRule> create(@Valid @RequestBody CategoryRule rule, Principal principal) {
+        CategoryRule saved = rules.create(userId(principal), rule);
+        return ResponseEntity
+                .created(URI.create("/api/category-rules/" + saved.getId()))
+                .body(saved);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id, Principal principal) {
+        return rules.delete(userId(principal), id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // Re-runs the rules over stored expenses; all=true also re-files rows outside Uncategorized
+    @PostMapping("/apply")
+    public RecategorizeResult apply(@RequestParam(name = "all", defaultValue = "false") boolean all, Principal principal) {
+        return rules.reapply(userId(principal), all);
+    }
+}
@@ -0,0 +1,56 @@
+package com.expensetracker.backend.controller;
+
+import com.expensetracker.backend.repository.CategoryTotal;
+import com.expensetracker.backend.repository.DailyTotal;
+import com.expensetracker.backend.repository.MonthlyTotal;
+import com.expensetracker.backend.service.ExpenseAnalyticsService;
+import com.expensetracker.backend.service.RollupCheck;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Dashboard totals aggregated in SQL so clients don't download the whole ledger to sum it
+@RestController
+@RequestMapping("/api/expenses/analytics")
+public class ExpenseAnalyticsController {
+
+    private final ExpenseAnalyticsService service;
+
+    public ExpenseAnalyticsController(ExpenseAnalyticsService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/monthly")
+    public List<MonthlyTotal> monthly(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                      Principal principal) {
+        return service.monthly(principal.getName(), from, to);
+    }
+
+    @GetMapping("/daily")
+    public List<DailyTotal> daily(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                  Principal principal) {
+        return service.daily(principal.getName(), from, to);
+    }
+
+    @GetMapping("/categories")
+    public List<CategoryTotal> categories(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          Principal principal) {
+        return service.byCategory(principal.getName(), from, to);
+    }
+
+    @GetMapping("/rollup/verify")
+    public RollupCheck verifyRollup(Principal principal) {
+        return service.verifyRollup(principal.getName());
+    }
+
+    @PostMapping("/rollup/rebuild")
+    public RollupCheck rebuildRollup(Principal principal) {
+        return service.rebuildRollup(principal.getName());
+    }
+}
@@ -1,12 +1,22 @@
 package com.expensetracker.backend.controller;
 
+import com.expensetracker.backend.controller.dto.BulkExpenseRequest;
+import com.expensetracker.backend.controller.dto.BulkMutationRequest;
 import com.expensetracker.backend.model.Expense;
+import com.expensetracker.backend.repository.ExpenseFilter;
+import com.expensetracker.backend.service.BulkInsertResult;
+import com.expensetracker.backend.service.BulkMutationResult;
+import com.expensetracker.backend.service.ExpensePage;
+import com.expensetracker.backend.service.ExpenseSearchPage;
 import com.expensetracker.backend.service.ExpenseService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.security.Principal;
 
@@ -25,6 +35,35 @@ public class ExpenseController {
         return service.listForUser(principal.getName());
     }
 
+    // Keyset-paginated listing, newest first; pass the returned nextCursor to fetch the following page
+    @GetMapping("/page")
+    public ExpensePage page(@RequestParam(required = false) String cursor,
+                            @RequestParam(required = false) Integer limit,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                            @RequestParam(required = false) Long categoryId,
+                            @RequestParam(required = false) BigDecimal minAmount,
+                            @RequestParam(required = false) BigDecimal maxAmount,
+                            Principal principal) {
+        ExpenseFilter filter = new ExpenseFilter(from, to, categoryId, minAmount, maxAmount);
+        return service.pageForUser(principal.getName(), filter, cursor, limit);
+    }
+
+    // Expenses whose description contains every word of q, best match first; same filters as /page
+    @GetMapping("/search")
+    public ExpenseSearchPage search(@RequestParam String q,
+                                    @RequestParam(required = false) Integer offset,
+                                    @RequestParam(required = false) Integer limit,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                    @RequestParam(required = false) Long categoryId,
+                                    @RequestParam(required = false) BigDecimal minAmount,
+                                    @RequestParam(required = false) BigDecimal maxAmount,
+                                    Principal principal) {
+        ExpenseFilter filter = new ExpenseFilter(from, to, categoryId, minAmount, maxAmount);
+        return service.searchForUser(principal.getName(), q, filter, offset, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Expense> get(@PathVariable Long id, Principal principal) {
         return service.findForUser(id, principal.getName())
@@ -38,6 +77,24 @@ public class ExpenseController {
         return ResponseEntity.created(URI.create("/api/expenses/" + saved.getId())).body(saved);
     }
 
+    // Inserts many expenses in one transaction using batched INSERTs; created rows are not echoed back
+    @PostMapping("/bulk")
+    public BulkInsertResult createAll(@Valid @RequestBody BulkExpenseRequest request, Principal principal) {
+        return service.createAllForUser(principal.getName(), request.getExpenses());
+    }
+
+    // Moves every selected row (ids and/or filters, see BulkMutationRequest) to targetCategoryId in one transaction
+    @PostMapping("/bulk/recategorize")
+    public BulkMutationResult recategorizeAll(@RequestBody BulkMutationRequest request, Principal principal) {
+        return service.recategorizeForUser(principal.getName(), request.getIds(), request.filter(),
+                request.getDescription(), request.getTargetCategoryId());
+    }
+
+    @PostMapping("/bulk/delete")
+    public BulkMutationResult deleteAll(@RequestBody BulkMutationRequest request, Principal principal) {
+        return service.deleteAllForUser(principal.getName(), request.getIds(), request.filter(), request.getDescription());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Expense> update(@PathVariable Long id, @Valid @RequestBody Expense incoming, Principal principal) {
         return service.updateForUser(id, principal.getName(), incoming)
@@ -45,9 +102,10 @@ public class ExpenseController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Pass ?version= to delete only the version the client last saw
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id, Principal principal) {
-        return service.deleteForUser(id, principal.getName())
+    public ResponseEntity<Void> delete(@PathVariable Long id, @RequestParam(required = false) Long version, Principal principal) {
+        return service.deleteForUser(id, principal.getName(), version)
                 ? ResponseEntity.noContent().build()
                 : ResponseEntity.notFound().build();
     }
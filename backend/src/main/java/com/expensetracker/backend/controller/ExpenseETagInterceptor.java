@@ -0,0 +1,42 @@
+package com.expensetracker.backend.controller;
+
+import com.expensetracker.backend.service.ExpenseChangeVersions;
+import com.expensetracker.backend.service.UserIdCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+
+// Tags expense reads with the user's change version and answers a matching If-None-Match with 304 before the
+// controller runs, so an unchanged list costs one key lookup. The tag is per user because browser caches key on
+// the URL alone, and weak because gzip rewrites the body (Tomcat won't compress strongly tagged responses).
+@Component
+public class ExpenseETagInterceptor implements HandlerInterceptor {
+
+    private final ExpenseChangeVersions versions;
+    private final UserIdCache users;
+
+    public ExpenseETagInterceptor(ExpenseChangeVersions versions, UserIdCache users) {
+        this.versions = versions;
+        this.users = users;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Principal principal = request.getUserPrincipal();
+        if (principal == null || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        Long uid = users.idFor(principal.getName());
+        String etag = "W/\"e" + uid + "-" + Long.toString(versions.current(uid), 36) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        // Sets the ETag header, and the 304 status when it matches
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,63 @@
+package com.expensetracker.backend.controller;
+
+import com.expensetracker.backend.repository.ExpenseFilter;
+import com.expensetracker.backend.service.ExpenseExportService;
+import com.expensetracker.backend.service.ExportFormat;
+import com.expensetracker.backend.service.UserIdCache;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+// Full-ledger downloads, streamed from the database cursor to the client
+@RestController
+@RequestMapping("/api/expenses/export")
+public class ExpenseExportController {
+
+    private final ExpenseExportService exporter;
+    private final UserIdCache users;
+
+    public ExpenseExportController(ExpenseExportService exporter, UserIdCache users) {
+        this.exporter = exporter;
+        this.users = users;
+    }
+
+    // format=csv|ndjson; gzip=true sends a .gz file instead
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(required = false) Long categoryId,
+                                                        @RequestParam(required = false) BigDecimal minAmount,
+                                                        @RequestParam(required = false) BigDecimal maxAmount,
+                                                        Principal principal) {
+        Long userId = users.idFor(principal.getName());
+        ExportFormat fmt = ExportFormat.parse(format);
+        ExpenseFilter filter = new ExpenseFilter(from, to, categoryId, minAmount, maxAmount);
+
+        String fileName = "expenses." + fmt.extension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                exporter.export(userId, filter, fmt, out);
+                return;
+            }
+            GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024);
+            exporter.export(userId, filter, fmt, gz);
+            gz.finish();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(fmt.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -1,5 +1,8 @@
 package com.expensetracker.backend.controller;
 
+import com.expensetracker.backend.service.StatementImportException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -30,4 +33,29 @@ public class GlobalExceptionHandler {
         body.put("message", ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(StatementImportException.class)
+    public ResponseEntity<Map<String,Object>> handleImport(StatementImportException ex) {
+        Map<String,Object> body = new HashMap<>();
+        body.put("status", 400);
+        body.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String,Object>> handleConflict(OptimisticLockingFailureException ex) {
+        Map<String,Object> body = new HashMap<>();
+        body.put("status", 409);
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // A unique key a concurrent request claimed first; retrying sees its row
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<Map<String,Object>> handleDuplicate(DuplicateKeyException ex) {
+        Map<String,Object> body = new HashMap<>();
+        body.put("status", 409);
+        body.put("message", "Conflicts with a concurrent change; retry the request");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+}
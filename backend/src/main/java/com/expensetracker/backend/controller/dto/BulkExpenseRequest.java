@@ -0,0 +1,15 @@
+package com.expensetracker.backend.controller.dto;
+
+import com.expensetracker.backend.model.Expense;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BulkExpenseRequest {
+    @NotEmpty
+    private List<@Valid Expense> expenses;
+
+    public List<Expense> getExpenses() { return expenses; }
+    public void setExpenses(List<Expense> expenses) { this.expenses = expenses; }
+}
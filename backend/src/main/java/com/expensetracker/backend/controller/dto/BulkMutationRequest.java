@@ -0,0 +1,42 @@
+package com.expensetracker.backend.controller.dto;
+
+import com.expensetracker.backend.repository.ExpenseFilter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Picks rows for a bulk operation by id list, by filter, or both; at least one criterion is required
+public class BulkMutationRequest {
+    private List<Long> ids;
+    private LocalDate from;
+    private LocalDate to;
+    private Long categoryId;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    // Words that must all appear in the description, as in /api/expenses/search
+    private String description;
+    // Recategorize only: where the selected rows go
+    private Long targetCategoryId;
+
+    public ExpenseFilter filter() {
+        return new ExpenseFilter(from, to, categoryId, minAmount, maxAmount);
+    }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public Long getTargetCategoryId() { return targetCategoryId; }
+    public void setTargetCategoryId(Long targetCategoryId) { this.targetCategoryId = targetCategoryId; }
+}
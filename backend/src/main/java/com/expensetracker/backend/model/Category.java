@@ -1,5 +1,6 @@
 package com.expensetracker.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.relational.core.mapping.Column;
@@ -11,7 +12,9 @@ import java.time.LocalDateTime;
 @Table("category")
 public class Category {
 
+    // Output only: Jackson would otherwise set it through the field, and save() would then update that row
     @Id
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id;
 
     @NotBlank(message = "Name required")
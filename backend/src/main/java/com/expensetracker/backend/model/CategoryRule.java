@@ -0,0 +1,71 @@
+package com.expensetracker.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Sends matching expenses to a category. Every condition that is set must hold: the description
+// contains keyword (case-insensitive), it matches pattern (a regex), and the amount is within range.
+@Table("category_rule")
+public class CategoryRule {
+
+    // Never bound from a request: an id in the body would turn the insert into an update of that row
+    @Id
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
+    @Column("user_id")
+    private Long userId;
+
+    @NotNull(message = "CategoryId required")
+    @Column("category_id")
+    private Long categoryId;
+
+    @Size(max = 100)
+    private String keyword;
+
+    @Size(max = 200)
+    private String pattern;
+
+    @PositiveOrZero
+    @Column("min_amount")
+    private BigDecimal minAmount;
+
+    @PositiveOrZero
+    @Column("max_amount")
+    private BigDecimal maxAmount;
+
+    // Higher wins when several rules match; ties go to the older rule
+    private int priority;
+
+    @ReadOnlyProperty
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    public CategoryRule() {}
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+    public String getPattern() { return pattern; }
+    public void setPattern(String pattern) { this.pattern = pattern; }
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -1,7 +1,10 @@
 package com.expensetracker.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 import org.springframework.data.relational.core.mapping.Column;
 
@@ -13,7 +16,9 @@ import java.time.LocalDateTime;
 @Table("expense")
 public class Expense {
 
+    // Never bound from a request: an id in a POST body would turn the insert into an update of that row
     @Id
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id;
 
     @NotBlank(message = "Description required")
@@ -38,6 +43,14 @@ public class Expense {
     @Column("user_id")
     private Long userId;
 
+    // Set for imported rows only; see ExpenseFingerprint
+    @JsonIgnore
+    private String fingerprint;
+
+    // Optimistic lock: an update or delete carrying a version fails with 409 if the row has moved past it
+    @Version
+    private Long version;
+
     public Expense() {}
 
     public Expense(String description, BigDecimal amount, Long categoryId, LocalDate expenseDate) {
@@ -59,4 +72,8 @@ public class Expense {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
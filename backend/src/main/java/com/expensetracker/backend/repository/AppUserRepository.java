@@ -1,10 +1,16 @@
 package com.expensetracker.backend.repository;
 
 import com.expensetracker.backend.model.AppUser;
+import org.springframework.data.relational.core.sql.LockMode;
+import org.springframework.data.relational.repository.Lock;
 import org.springframework.data.repository.ListCrudRepository;
 
 import java.util.Optional;
 
 public interface AppUserRepository extends ListCrudRepository<AppUser, Long> {
     Optional<AppUser> findByUsername(String username);
-}
\ No newline at end of file
+
+    // SELECT ... FOR UPDATE: serializes writers that must see each other's rows, such as imports
+    @Lock(LockMode.PESSIMISTIC_WRITE)
+    Optional<AppUser> findLockedById(Long id);
+}
@@ -12,4 +12,5 @@ public interface CategoryRepository extends ListCrudRepository<Category, Long> {
     List<Category> findByUserId(Long userId);
     boolean existsByUserIdAndName(Long userId, String name);
     Optional<Category> findByUserIdAndName(Long userId, String name); // add this
+    boolean existsByIdAndUserId(Long id, Long userId);
 }
@@ -0,0 +1,14 @@
+package com.expensetracker.backend.repository;
+
+import com.expensetracker.backend.model.CategoryRule;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRuleRepository extends ListCrudRepository<CategoryRule, Long> {
+    List<CategoryRule> findByUserId(Long userId);
+    Optional<CategoryRule> findByIdAndUserId(Long id, Long userId);
+}
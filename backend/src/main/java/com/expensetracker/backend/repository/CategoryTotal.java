@@ -0,0 +1,5 @@
+package com.expensetracker.backend.repository;
+
+import java.math.BigDecimal;
+
+public record CategoryTotal(Long categoryId, String categoryName, BigDecimal total, long count) {}
@@ -0,0 +1,6 @@
+package com.expensetracker.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyTotal(LocalDate day, BigDecimal total, long count) {}
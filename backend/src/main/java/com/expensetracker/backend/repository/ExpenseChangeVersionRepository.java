@@ -0,0 +1,46 @@
+package com.expensetracker.backend.repository;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+// user -> counter behind the expense ETags; a user with no row yet is at version 0
+@Repository
+public class ExpenseChangeVersionRepository {
+
+    private static final String BUMP =
+            "INSERT INTO expense_change_version (user_id, version) VALUES (:userId, 1)"
+            + " ON DUPLICATE KEY UPDATE version = version + 1";
+
+    private static final String START_MISSING =
+            "INSERT INTO expense_change_version (user_id, version) SELECT id, 1 FROM app_user u"
+            + " WHERE NOT EXISTS (SELECT 1 FROM expense_change_version v WHERE v.user_id = u.id)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ExpenseChangeVersionRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public long current(Long userId) {
+        List<Long> found = jdbc.queryForList("SELECT version FROM expense_change_version WHERE user_id = :userId",
+                Map.of("userId", userId), Long.class);
+        return found.isEmpty() ? 0 : found.get(0);
+    }
+
+    public void bump(Long userId) {
+        jdbc.update(BUMP, Map.of("userId", userId));
+    }
+
+    public void bumpForCategory(Long categoryId) {
+        jdbc.queryForList("SELECT user_id FROM category WHERE id = :categoryId", Map.of("categoryId", categoryId),
+                Long.class).forEach(this::bump);
+    }
+
+    public void bumpAll() {
+        jdbc.update("UPDATE expense_change_version SET version = version + 1", Map.of());
+        jdbc.update(START_MISSING, Map.of());
+    }
+}
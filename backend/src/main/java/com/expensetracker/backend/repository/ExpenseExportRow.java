@@ -0,0 +1,8 @@
+package com.expensetracker.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ExpenseExportRow(Long id, LocalDate expenseDate, String description, BigDecimal amount,
+                               Long categoryId, String categoryName, LocalDateTime createdAt) {}
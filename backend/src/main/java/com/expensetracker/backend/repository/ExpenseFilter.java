@@ -0,0 +1,16 @@
+package com.expensetracker.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Optional server-side filters for expense listings; null fields are ignored
+public record ExpenseFilter(LocalDate from,
+                            LocalDate to,
+                            Long categoryId,
+                            BigDecimal minAmount,
+                            BigDecimal maxAmount) {
+
+    public static ExpenseFilter none() {
+        return new ExpenseFilter(null, null, null, null, null);
+    }
+}
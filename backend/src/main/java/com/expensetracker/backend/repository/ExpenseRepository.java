@@ -1,6 +1,8 @@
 package com.expensetracker.backend.repository;
 
 import com.expensetracker.backend.model.Expense;
+import org.springframework.data.relational.core.sql.LockMode;
+import org.springframework.data.relational.repository.Lock;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,9 +10,15 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ExpenseRepository extends ListCrudRepository<Expense, Long> {
+public interface ExpenseRepository extends ListCrudRepository<Expense, Long>, ExpenseRepositoryCustom {
 
     List<Expense> findByUserId(Long userId);
 
     Optional<Expense> findByIdAndUserId(Long id, Long userId);
-}
\ No newline at end of file
+
+    // SELECT ... FOR UPDATE: the row stays as read until the transaction ends
+    @Lock(LockMode.PESSIMISTIC_WRITE)
+    Optional<Expense> findLockedByIdAndUserId(Long id, Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+}
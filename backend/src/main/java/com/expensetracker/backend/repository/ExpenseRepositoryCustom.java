@@ -0,0 +1,60 @@
+package com.expensetracker.backend.repository;
+
+import com.expensetracker.backend.model.Expense;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface ExpenseRepositoryCustom {
+
+    // Keyset page ordered by (expense_date DESC, id DESC); pass null after* for the first page
+    List<Expense> findPage(Long userId, ExpenseFilter filter, LocalDate afterDate, Long afterId, int limit);
+
+    // Totals computed by the database; from/to are inclusive and may be null
+    List<MonthlyTotal> totalsByMonth(Long userId, LocalDate from, LocalDate to);
+
+    List<DailyTotal> totalsByDay(Long userId, LocalDate from, LocalDate to);
+
+    List<CategoryTotal> totalsByCategory(Long userId, LocalDate from, LocalDate to);
+
+    // Plain INSERTs sent as JDBC batches of chunkSize rows; generated ids are not read back
+    int insertAll(List<Expense> batch, int chunkSize);
+
+    // Which of the given fingerprints the user already has, looked up a chunk of keys per query
+    Set<String> findExistingFingerprints(Long userId, Collection<String> fingerprints);
+
+    // Next slice of the user's ledger in id order, for passes over every row; categoryId may be null for all
+    List<Expense> findBatchAfterId(Long userId, Long categoryId, long afterId, int limit);
+
+    // Sets categoryIds[i] on rows[i] unless that row changed since it was read (checked on category, amount
+    // and date, against the row locked for the update); applied[i] tells which updates happened
+    boolean[] updateCategoriesIfUnchanged(Long userId, List<Expense> rows, List<Long> categoryIds);
+
+    // UPDATE of every editable column, guarded by owner and version, which it bumps; false when no row matched
+    boolean updateIfVersion(Expense e, long expectedVersion);
+
+    // DELETE guarded by owner and, when expectedVersion is non-null, version; the affected row count
+    int deleteForUser(Long id, Long userId, Long expectedVersion);
+
+    // Bulk operations. lockSelected bumps the version of every selected row, which also write-locks them so
+    // the rollup can be adjusted from their current values before the change; each returns the row count.
+    int lockSelected(ExpenseSelection selection);
+
+    int recategorizeSelected(ExpenseSelection selection, Long categoryId);
+
+    int deleteSelected(ExpenseSelection selection);
+
+    // Expenses whose description contains every term, best match first, then newest. Uses the FULLTEXT index
+    // (prefix match per term) on MySQL once it exists, and a substring scan of the user's rows otherwise.
+    List<Expense> search(Long userId, List<String> terms, ExpenseFilter filter, int offset, int limit);
+
+    // Creates the description FULLTEXT index on MySQL if it is missing; returns whether it did
+    boolean ensureSearchIndex();
+
+    // Feeds matching rows to the sink in ledger order (oldest first) from a forward-only cursor,
+    // so callers can write them out without holding the result in memory
+    void streamForExport(Long userId, ExpenseFilter filter, Consumer<ExpenseExportRow> sink);
+}
@@ -0,0 +1,368 @@
+package com.expensetracker.backend.repository;
+
+import com.expensetracker.backend.model.Expense;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+public class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("expenseDate"), Sort.Order.desc("id"));
+
+    private static final String INSERT = "INSERT INTO expense (description, amount, expense_date, category_id, user_id, fingerprint)"
+            + " VALUES (:description, :amount, :expenseDate, :categoryId, :userId, :fingerprint)";
+    private static final int FINGERPRINT_LOOKUP_CHUNK = 1000;
+
+    // Connector/J only streams row by row with this sentinel; otherwise it buffers the whole result set
+    private static final int MYSQL_STREAMING_FETCH = Integer.MIN_VALUE;
+    private static final int DEFAULT_EXPORT_FETCH = 1000;
+
+    private static final String FULLTEXT_INDEX = "ft_expense_description";
+    // InnoDB's default innodb_ft_min_token_size; shorter words are not in the FULLTEXT index
+    private static final int FULLTEXT_MIN_TERM = 3;
+
+    private final JdbcAggregateOperations template;
+    private final NamedParameterJdbcTemplate jdbc;
+    private volatile NamedParameterJdbcTemplate exportJdbc;
+    private volatile String databaseProduct;
+    private volatile Boolean fullText;
+
+    public ExpenseRepositoryCustomImpl(JdbcAggregateOperations template, NamedParameterJdbcTemplate jdbc) {
+        this.template = template;
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<Expense> findPage(Long userId, ExpenseFilter filter, LocalDate afterDate, Long afterId, int limit) {
+        Criteria where = Criteria.where("userId").is(userId);
+        if (filter.from() != null) where = where.and("expenseDate").greaterThanOrEquals(filter.from());
+        if (filter.to() != null) where = where.and("expenseDate").lessThanOrEquals(filter.to());
+        if (filter.categoryId() != null) where = where.and("categoryId").is(filter.categoryId());
+        if (filter.minAmount() != null) where = where.and("amount").greaterThanOrEquals(filter.minAmount());
+        if (filter.maxAmount() != null) where = where.and("amount").lessThanOrEquals(filter.maxAmount());
+
+        // Seek past the previous page instead of OFFSET so deep pages stay index range scans
+        if (afterDate != null && afterId != null) {
+            where = where.and(Criteria.where("expenseDate").lessThan(afterDate)
+                    .or(Criteria.where("expenseDate").is(afterDate).and("id").lessThan(afterId)));
+        }
+
+        return template.findAll(Query.query(where).sort(NEWEST_FIRST).limit(limit), Expense.class);
+    }
+
+    @Override
+    public List<MonthlyTotal> totalsByMonth(Long userId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = "SELECT YEAR(expense_date) AS y, MONTH(expense_date) AS m,"
+                + " SUM(amount) AS total, COUNT(*) AS cnt"
+                + " FROM expense WHERE user_id = :userId" + dateRange("expense_date", from, to, params)
+                + " GROUP BY YEAR(expense_date), MONTH(expense_date)"
+                + " ORDER BY y, m";
+        return jdbc.query(sql, params, (rs, i) ->
+                new MonthlyTotal(rs.getInt("y"), rs.getInt("m"), rs.getBigDecimal("total"), rs.getLong("cnt")));
+    }
+
+    @Override
+    public List<DailyTotal> totalsByDay(Long userId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = "SELECT expense_date AS d, SUM(amount) AS total, COUNT(*) AS cnt"
+                + " FROM expense WHERE user_id = :userId" + dateRange("expense_date", from, to, params)
+                + " GROUP BY expense_date"
+                + " ORDER BY expense_date";
+        return jdbc.query(sql, params, (rs, i) ->
+                new DailyTotal(rs.getObject("d", LocalDate.class), rs.getBigDecimal("total"), rs.getLong("cnt")));
+    }
+
+    @Override
+    public List<CategoryTotal> totalsByCategory(Long userId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = "SELECT e.category_id AS category_id, c.name AS category_name,"
+                + " SUM(e.amount) AS total, COUNT(*) AS cnt"
+                + " FROM expense e JOIN category c ON c.id = e.category_id AND c.user_id = e.user_id"
+                + " WHERE e.user_id = :userId" + dateRange("e.expense_date", from, to, params)
+                + " GROUP BY e.category_id, c.name"
+                + " ORDER BY total DESC";
+        return jdbc.query(sql, params, (rs, i) -> new CategoryTotal(rs.getLong("category_id"),
+                rs.getString("category_name"), rs.getBigDecimal("total"), rs.getLong("cnt")));
+    }
+
+    @Override
+    public int insertAll(List<Expense> batch, int chunkSize) {
+        int inserted = 0;
+        for (int from = 0; from < batch.size(); from += chunkSize) {
+            List<Expense> chunk = batch.subList(from, Math.min(batch.size(), from + chunkSize));
+            SqlParameterSource[] params = new SqlParameterSource[chunk.size()];
+            for (int i = 0; i < params.length; i++) {
+                Expense e = chunk.get(i);
+                params[i] = new MapSqlParameterSource()
+                        .addValue("description", e.getDescription())
+                        .addValue("amount", e.getAmount())
+                        .addValue("expenseDate", e.getExpenseDate())
+                        .addValue("categoryId", e.getCategoryId())
+                        .addValue("userId", e.getUserId())
+                        .addValue("fingerprint", e.getFingerprint());
+            }
+            // MySQL reports SUCCESS_NO_INFO per row once rewriteBatchedStatements folds the batch into one statement
+            for (int n : jdbc.batchUpdate(INSERT, params)) inserted += n == Statement.SUCCESS_NO_INFO ? 1 : n;
+        }
+        return inserted;
+    }
+
+    @Override
+    public Set<String> findExistingFingerprints(Long userId, Collection<String> fingerprints) {
+        Set<String> found = new HashSet<>();
+        List<String> keys = List.copyOf(fingerprints);
+        for (int from = 0; from < keys.size(); from += FINGERPRINT_LOOKUP_CHUNK) {
+            MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+                    .addValue("fingerprints", keys.subList(from, Math.min(keys.size(), from + FINGERPRINT_LOOKUP_CHUNK)));
+            found.addAll(jdbc.queryForList(
+                    "SELECT fingerprint FROM expense WHERE user_id = :userId AND fingerprint IN (:fingerprints) FOR UPDATE",
+                    params, String.class));
+        }
+        return found;
+    }
+
+    @Override
+    public List<Expense> findBatchAfterId(Long userId, Long categoryId, long afterId, int limit) {
+        Criteria where = Criteria.where("userId").is(userId).and("id").greaterThan(afterId);
+        if (categoryId != null) where = where.and("categoryId").is(categoryId);
+        return template.findAll(Query.query(where).sort(Sort.by("id")).limit(limit), Expense.class);
+    }
+
+    @Override
+    public boolean[] updateCategoriesIfUnchanged(Long userId, List<Expense> rows, List<Long> categoryIds) {
+        boolean[] applied = new boolean[rows.size()];
+        if (rows.isEmpty()) return applied;
+
+        // The rows as they are now, locked so they stay that way until the updates below; the batch's
+        // counts can't say which updates matched, as drivers may report SUCCESS_NO_INFO
+        Map<Long, Expense> current = new HashMap<>();
+        MapSqlParameterSource lookup = new MapSqlParameterSource("userId", userId)
+                .addValue("ids", rows.stream().map(Expense::getId).toList());
+        jdbc.query("SELECT id, category_id, amount, expense_date FROM expense"
+                + " WHERE user_id = :userId AND id IN (:ids) FOR UPDATE", lookup, rs -> {
+            current.put(rs.getLong(1), new Expense(null, rs.getBigDecimal(3), rs.getLong(2),
+                    rs.getObject(4, LocalDate.class)));
+        });
+
+        List<SqlParameterSource> params = new ArrayList<>();
+        for (int i = 0; i < applied.length; i++) {
+            Expense e = rows.get(i);
+            Expense now = current.get(e.getId());
+            applied[i] = now != null
+                    && Objects.equals(now.getCategoryId(), e.getCategoryId())
+                    && now.getAmount().compareTo(e.getAmount()) == 0
+                    && now.getExpenseDate().equals(e.getExpenseDate());
+            if (!applied[i]) continue;
+            params.add(new MapSqlParameterSource("userId", userId)
+                    .addValue("id", e.getId())
+                    .addValue("to", categoryIds.get(i)));
+        }
+        if (!params.isEmpty()) {
+            jdbc.batchUpdate("UPDATE expense SET category_id = :to, version = version + 1"
+                    + " WHERE id = :id AND user_id = :userId", params.toArray(SqlParameterSource[]::new));
+        }
+        return applied;
+    }
+
+    @Override
+    public boolean updateIfVersion(Expense e, long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", e.getId())
+                .addValue("userId", e.getUserId())
+                .addValue("version", expectedVersion)
+                .addValue("description", e.getDescription())
+                .addValue("amount", e.getAmount())
+                .addValue("categoryId", e.getCategoryId())
+                .addValue("expenseDate", e.getExpenseDate());
+        return jdbc.update("UPDATE expense SET description = :description, amount = :amount, category_id = :categoryId,"
+                + " expense_date = :expenseDate, version = version + 1"
+                + " WHERE id = :id AND user_id = :userId AND version = :version", params) > 0;
+    }
+
+    @Override
+    public int deleteForUser(Long id, Long userId, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id).addValue("userId", userId);
+        String sql = "DELETE FROM expense WHERE id = :id AND user_id = :userId";
+        if (expectedVersion != null) {
+            sql += " AND version = :version";
+            params.addValue("version", expectedVersion);
+        }
+        return jdbc.update(sql, params);
+    }
+
+    @Override
+    public int lockSelected(ExpenseSelection selection) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        return jdbc.update("UPDATE expense e SET version = version + 1" + selection.where(params), params);
+    }
+
+    @Override
+    public int recategorizeSelected(ExpenseSelection selection, Long categoryId) {
+        // Not :categoryId, which the selection's filter may bind
+        MapSqlParameterSource params = new MapSqlParameterSource("targetCategoryId", categoryId);
+        return jdbc.update("UPDATE expense e SET category_id = :targetCategoryId" + selection.where(params), params);
+    }
+
+    @Override
+    public int deleteSelected(ExpenseSelection selection) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        return jdbc.update("DELETE FROM expense e" + selection.where(params), params);
+    }
+
+    @Override
+    public void streamForExport(Long userId, ExpenseFilter filter, Consumer<ExpenseExportRow> sink) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = "SELECT e.id, e.expense_date, e.description, e.amount, e.category_id,"
+                + " c.name AS category_name, e.created_at"
+                + " FROM expense e JOIN category c ON c.id = e.category_id AND c.user_id = e.user_id"
+                + " WHERE e.user_id = :userId" + filterClause(filter, params)
+                + " ORDER BY e.expense_date, e.id";
+
+        exportJdbc().query(sql, params, rs -> {
+            sink.accept(new ExpenseExportRow(rs.getLong(1), rs.getObject(2, LocalDate.class), rs.getString(3),
+                    rs.getBigDecimal(4), rs.getLong(5), rs.getString(6), rs.getObject(7, LocalDateTime.class)));
+        });
+    }
+
+    // Same DataSource, with a fetch size that makes the driver stream instead of loading every row first
+    private NamedParameterJdbcTemplate exportJdbc() {
+        NamedParameterJdbcTemplate t = exportJdbc;
+        if (t == null) {
+            DataSource ds = jdbc.getJdbcTemplate().getDataSource();
+            JdbcTemplate streaming = new JdbcTemplate(ds);
+            streaming.setFetchSize(isMySql() ? MYSQL_STREAMING_FETCH : DEFAULT_EXPORT_FETCH);
+            exportJdbc = t = new NamedParameterJdbcTemplate(streaming);
+        }
+        return t;
+    }
+
+    @Override
+    public List<Expense> search(Long userId, List<String> terms, ExpenseFilter filter, int offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        StringBuilder where = new StringBuilder(" WHERE e.user_id = :userId");
+        StringBuilder against = new StringBuilder();
+        boolean indexed = fullTextSearch();
+        for (int i = 0; i < terms.size(); i++) {
+            // Terms are letters and digits only, so neither boolean-mode operators nor LIKE wildcards can sneak in
+            String term = terms.get(i);
+            if (indexed && term.length() >= FULLTEXT_MIN_TERM) {
+                against.append(" +").append(term).append('*');
+            } else {
+                where.append(" AND LOWER(e.description) LIKE :term").append(i);
+                params.addValue("term" + i, "%" + term + "%");
+            }
+        }
+        String rank = "";
+        if (!against.isEmpty()) {
+            params.addValue("against", against.toString().trim());
+            where.append(" AND MATCH(e.description) AGAINST (:against IN BOOLEAN MODE)");
+            rank = "MATCH(e.description) AGAINST (:against IN BOOLEAN MODE) DESC, ";
+        }
+        where.append(filterClause(filter, params));
+
+        List<Long> ids = jdbc.queryForList("SELECT e.id FROM expense e" + where
+                + " ORDER BY " + rank + "e.expense_date DESC, e.id DESC LIMIT :limit OFFSET :offset", params, Long.class);
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Expense> byId = new HashMap<>();
+        for (Expense e : template.findAllById(ids, Expense.class)) byId.put(e.getId(), e);
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public boolean ensureSearchIndex() {
+        if (!isMySql()) return false;
+        boolean created = false;
+        if (!hasFullTextIndex()) {
+            jdbc.getJdbcOperations().execute("ALTER TABLE expense ADD FULLTEXT INDEX " + FULLTEXT_INDEX + " (description)");
+            created = true;
+        }
+        fullText = true;
+        return created;
+    }
+
+    // MATCH fails outright without the index, so MySQL databases that lack it search like every other one
+    private boolean fullTextSearch() {
+        Boolean f = fullText;
+        if (f == null) fullText = f = isMySql() && hasFullTextIndex();
+        return f;
+    }
+
+    private boolean hasFullTextIndex() {
+        Integer n = jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.statistics"
+                        + " WHERE table_schema = DATABASE() AND table_name = 'expense' AND index_name = :name",
+                new MapSqlParameterSource("name", FULLTEXT_INDEX), Integer.class);
+        return n != null && n > 0;
+    }
+
+    private boolean isMySql() {
+        String product = databaseProduct;
+        if (product == null) {
+            try {
+                product = JdbcUtils.extractDatabaseMetaData(jdbc.getJdbcTemplate().getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+            } catch (MetaDataAccessException e) {
+                product = "";
+            }
+            databaseProduct = product;
+        }
+        return "MySQL".equalsIgnoreCase(product);
+    }
+
+    // ExpenseFilter as AND conditions on the expense alias e
+    static String filterClause(ExpenseFilter filter, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder(dateRange("e.expense_date", filter.from(), filter.to(), params));
+        if (filter.categoryId() != null) {
+            sql.append(" AND e.category_id = :categoryId");
+            params.addValue("categoryId", filter.categoryId());
+        }
+        if (filter.minAmount() != null) {
+            sql.append(" AND e.amount >= :minAmount");
+            params.addValue("minAmount", filter.minAmount());
+        }
+        if (filter.maxAmount() != null) {
+            sql.append(" AND e.amount <= :maxAmount");
+            params.addValue("maxAmount", filter.maxAmount());
+        }
+        return sql.toString();
+    }
+
+    private static String dateRange(String column, LocalDate from, LocalDate to, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= :from");
+            params.addValue("from", from);
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" <= :to");
+            params.addValue("to", to);
+        }
+        return sql.toString();
+    }
+}
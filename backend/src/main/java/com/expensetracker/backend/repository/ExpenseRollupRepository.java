@@ -0,0 +1,228 @@
+package com.expensetracker.backend.repository;
+
+import com.expensetracker.backend.model.Expense;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// user x month x category -> (sum, count), updated by deltas so dashboard reads never scan the ledger
+@Repository
+public class ExpenseRollupRepository {
+
+    private static final String UPSERT =
+            "INSERT INTO expense_rollup (user_id, expense_year, expense_month, category_id, total, cnt)"
+            + " VALUES (:userId, :year, :month, :categoryId, :total, :cnt)"
+            + " ON DUPLICATE KEY UPDATE total = total + VALUES(total), cnt = cnt + VALUES(cnt)";
+
+    private static final String ACCUMULATE =
+            " ON DUPLICATE KEY UPDATE total = total + VALUES(total), cnt = cnt + VALUES(cnt)";
+
+    private static final String REBUILD_SELECT =
+            "SELECT user_id, YEAR(expense_date), MONTH(expense_date), category_id, SUM(amount), COUNT(*)"
+            + " FROM expense";
+
+    private static final RowMapper<RollupTotal> ROLLUP_ROW = (rs, i) -> new RollupTotal(
+            rs.getInt("y"), rs.getInt("m"), rs.getLong("category_id"), rs.getBigDecimal("total"), rs.getLong("cnt"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ExpenseRollupRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void add(Expense e) {
+        applyAll(e.getUserId(), List.of(e), 1);
+    }
+
+    public void subtract(Expense e) {
+        applyAll(e.getUserId(), List.of(e), -1);
+        pruneEmpty(e.getUserId());
+    }
+
+    // One row's edit: a single delta upsert when it stays in the same month and category, else subtract + add
+    public void replace(Expense before, Expense after) {
+        LocalDate b = before.getExpenseDate(), a = after.getExpenseDate();
+        boolean sameKey = b.getYear() == a.getYear() && b.getMonthValue() == a.getMonthValue()
+                && before.getCategoryId().equals(after.getCategoryId());
+        if (!sameKey) {
+            jdbc.batchUpdate(UPSERT, new SqlParameterSource[] { delta(before, -1), delta(after, 1) });
+            pruneEmpty(before.getUserId());
+        } else if (before.getAmount().compareTo(after.getAmount()) != 0) {
+            MapSqlParameterSource amountOnly = delta(after, 1)
+                    .addValue("total", after.getAmount().subtract(before.getAmount()))
+                    .addValue("cnt", 0);
+            jdbc.update(UPSERT, amountOnly);
+        }
+    }
+
+    private static MapSqlParameterSource delta(Expense e, int sign) {
+        return new MapSqlParameterSource()
+                .addValue("userId", e.getUserId())
+                .addValue("year", e.getExpenseDate().getYear())
+                .addValue("month", e.getExpenseDate().getMonthValue())
+                .addValue("categoryId", e.getCategoryId())
+                .addValue("total", sign < 0 ? e.getAmount().negate() : e.getAmount())
+                .addValue("cnt", sign);
+    }
+
+    // Takes a stored row out of the totals straight from the ledger, locking it, so a delete needn't read it
+    // first. Matches nothing (returns 0) when the row isn't the user's or, if expectedVersion is set, has moved on.
+    public int subtractStored(Long userId, Long expenseId, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId).addValue("id", expenseId);
+        String versionCheck = "";
+        if (expectedVersion != null) {
+            versionCheck = " AND version = :version";
+            params.addValue("version", expectedVersion);
+        }
+        int n = jdbc.update("INSERT INTO expense_rollup (user_id, expense_year, expense_month, category_id, total, cnt)"
+                + " SELECT user_id, YEAR(expense_date), MONTH(expense_date), category_id, -amount, -1"
+                + " FROM expense WHERE id = :id AND user_id = :userId" + versionCheck + " FOR UPDATE"
+                + " ON DUPLICATE KEY UPDATE total = total + VALUES(total), cnt = cnt + VALUES(cnt)", params);
+        if (n > 0) pruneEmpty(userId);
+        return n;
+    }
+
+    // Bulk counterparts, one grouped statement each. Callers lock the selected rows first: H2 rejects
+    // FOR UPDATE on a grouped select.
+    public void subtractSelected(ExpenseSelection selection) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        jdbc.update("INSERT INTO expense_rollup (user_id, expense_year, expense_month, category_id, total, cnt)"
+                + " SELECT e.user_id, YEAR(e.expense_date), MONTH(e.expense_date), e.category_id, -SUM(e.amount), -COUNT(*)"
+                + " FROM expense e" + selection.where(params)
+                + " GROUP BY e.user_id, YEAR(e.expense_date), MONTH(e.expense_date), e.category_id"
+                + ACCUMULATE, params);
+        pruneEmpty(selection.userId());
+    }
+
+    public void addSelectedAs(ExpenseSelection selection, Long categoryId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("targetCategoryId", categoryId);
+        jdbc.update("INSERT INTO expense_rollup (user_id, expense_year, expense_month, category_id, total, cnt)"
+                + " SELECT e.user_id, YEAR(e.expense_date), MONTH(e.expense_date), :targetCategoryId, SUM(e.amount), COUNT(*)"
+                + " FROM expense e" + selection.where(params)
+                + " GROUP BY e.user_id, YEAR(e.expense_date), MONTH(e.expense_date)"
+                + ACCUMULATE, params);
+    }
+
+    // Collapses a batch into one upsert per (month, category) before touching the table
+    public void addAll(Long userId, List<Expense> batch) {
+        applyAll(userId, batch, 1);
+    }
+
+    public void subtractAll(Long userId, List<Expense> batch) {
+        applyAll(userId, batch, -1);
+        pruneEmpty(userId);
+    }
+
+    private void applyAll(Long userId, List<Expense> batch, int sign) {
+        Map<Key, BigDecimal[]> deltas = new LinkedHashMap<>();
+        for (Expense e : batch) {
+            LocalDate d = e.getExpenseDate();
+            BigDecimal[] acc = deltas.computeIfAbsent(new Key(d.getYear(), d.getMonthValue(), e.getCategoryId()),
+                    k -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+            acc[0] = acc[0].add(e.getAmount());
+            acc[1] = acc[1].add(BigDecimal.ONE);
+        }
+        List<SqlParameterSource> params = new ArrayList<>(deltas.size());
+        deltas.forEach((k, acc) -> params.add(new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("year", k.year())
+                .addValue("month", k.month())
+                .addValue("categoryId", k.categoryId())
+                .addValue("total", sign < 0 ? acc[0].negate() : acc[0])
+                .addValue("cnt", sign < 0 ? -acc[1].intValue() : acc[1].intValue())));
+        if (params.size() == 1) jdbc.update(UPSERT, params.get(0));
+        else if (!params.isEmpty()) jdbc.batchUpdate(UPSERT, params.toArray(SqlParameterSource[]::new));
+    }
+
+    private void pruneEmpty(Long userId) {
+        jdbc.update("DELETE FROM expense_rollup WHERE user_id = :userId AND cnt <= 0",
+                new MapSqlParameterSource("userId", userId));
+    }
+
+    public List<MonthlyTotal> totalsByMonth(Long userId, Integer fromPeriod, Integer toPeriod) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = "SELECT expense_year AS y, expense_month AS m, SUM(total) AS total, SUM(cnt) AS cnt"
+                + " FROM expense_rollup WHERE user_id = :userId" + periodRange(fromPeriod, toPeriod, params)
+                + " GROUP BY expense_year, expense_month"
+                + " ORDER BY y, m";
+        return jdbc.query(sql, params, (rs, i) ->
+                new MonthlyTotal(rs.getInt("y"), rs.getInt("m"), rs.getBigDecimal("total"), rs.getLong("cnt")));
+    }
+
+    public List<CategoryTotal> totalsByCategory(Long userId, Integer fromPeriod, Integer toPeriod) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = "SELECT r.category_id AS category_id, c.name AS category_name,"
+                + " SUM(r.total) AS total, SUM(r.cnt) AS cnt"
+                + " FROM expense_rollup r JOIN category c ON c.id = r.category_id AND c.user_id = r.user_id"
+                + " WHERE r.user_id = :userId" + periodRange(fromPeriod, toPeriod, params)
+                + " GROUP BY r.category_id, c.name"
+                + " ORDER BY total DESC";
+        return jdbc.query(sql, params, (rs, i) -> new CategoryTotal(rs.getLong("category_id"),
+                rs.getString("category_name"), rs.getBigDecimal("total"), rs.getLong("cnt")));
+    }
+
+    // Periods are encoded as year * 100 + month so a month range is a single comparison
+    private static String periodRange(Integer fromPeriod, Integer toPeriod, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (fromPeriod != null) {
+            sql.append(" AND expense_year * 100 + expense_month >= :fromPeriod");
+            params.addValue("fromPeriod", fromPeriod);
+        }
+        if (toPeriod != null) {
+            sql.append(" AND expense_year * 100 + expense_month <= :toPeriod");
+            params.addValue("toPeriod", toPeriod);
+        }
+        return sql.toString();
+    }
+
+    public List<RollupTotal> findByUserId(Long userId) {
+        return jdbc.query("SELECT expense_year AS y, expense_month AS m, category_id, total, cnt"
+                + " FROM expense_rollup WHERE user_id = :userId ORDER BY y, m, category_id",
+                new MapSqlParameterSource("userId", userId), ROLLUP_ROW);
+    }
+
+    // What the rollup should contain, recomputed from the ledger
+    public List<RollupTotal> computeFromLedger(Long userId) {
+        return jdbc.query("SELECT YEAR(expense_date) AS y, MONTH(expense_date) AS m, category_id,"
+                + " SUM(amount) AS total, COUNT(*) AS cnt"
+                + " FROM expense WHERE user_id = :userId"
+                + " GROUP BY YEAR(expense_date), MONTH(expense_date), category_id"
+                + " ORDER BY y, m, category_id",
+                new MapSqlParameterSource("userId", userId), ROLLUP_ROW);
+    }
+
+    public void rebuild(Long userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        jdbc.update("DELETE FROM expense_rollup WHERE user_id = :userId", params);
+        jdbc.update("INSERT INTO expense_rollup (user_id, expense_year, expense_month, category_id, total, cnt) "
+                + REBUILD_SELECT + " WHERE user_id = :userId"
+                + " GROUP BY user_id, YEAR(expense_date), MONTH(expense_date), category_id", params);
+    }
+
+    public void rebuildAll() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        jdbc.update("DELETE FROM expense_rollup", none);
+        jdbc.update("INSERT INTO expense_rollup (user_id, expense_year, expense_month, category_id, total, cnt) "
+                + REBUILD_SELECT
+                + " GROUP BY user_id, YEAR(expense_date), MONTH(expense_date), category_id", none);
+    }
+
+    // True when the ledger has rows but the rollup has none, i.e. it was never populated
+    public boolean needsBackfill() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        Boolean rolled = jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM expense_rollup)", none, Boolean.class);
+        Boolean ledger = jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM expense)", none, Boolean.class);
+        return !Boolean.TRUE.equals(rolled) && Boolean.TRUE.equals(ledger);
+    }
+
+    private record Key(int year, int month, Long categoryId) {}
+}
@@ -0,0 +1,38 @@
+package com.expensetracker.backend.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.List;
+
+// The rows a bulk operation touches: one user's expenses, narrowed by an id list (null for any id), the usual
+// filters, and description words that must all appear. Rendered as a predicate over the alias e.
+public record ExpenseSelection(Long userId,
+                               List<Long> ids,
+                               ExpenseFilter filter,
+                               List<String> descriptionTerms,
+                               Long exceptCategoryId) {
+
+    public ExpenseSelection exceptCategory(Long categoryId) {
+        return new ExpenseSelection(userId, ids, filter, descriptionTerms, categoryId);
+    }
+
+    String where(MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder(" WHERE e.user_id = :userId");
+        params.addValue("userId", userId);
+        if (ids != null) {
+            sql.append(" AND e.id IN (:ids)");
+            params.addValue("ids", ids);
+        }
+        sql.append(ExpenseRepositoryCustomImpl.filterClause(filter, params));
+        for (int i = 0; i < descriptionTerms.size(); i++) {
+            // Terms are letters and digits only (see ExpenseService.searchTerms), so no LIKE wildcards get through
+            sql.append(" AND LOWER(e.description) LIKE :term").append(i);
+            params.addValue("term" + i, "%" + descriptionTerms.get(i) + "%");
+        }
+        if (exceptCategoryId != null) {
+            sql.append(" AND e.category_id <> :exceptCategoryId");
+            params.addValue("exceptCategoryId", exceptCategoryId);
+        }
+        return sql.toString();
+    }
+}
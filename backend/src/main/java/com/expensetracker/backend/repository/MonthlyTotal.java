@@ -0,0 +1,5 @@
+package com.expensetracker.backend.repository;
+
+import java.math.BigDecimal;
+
+public record MonthlyTotal(int year, int month, BigDecimal total, long count) {}
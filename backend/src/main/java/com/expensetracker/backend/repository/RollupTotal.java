@@ -0,0 +1,5 @@
+package com.expensetracker.backend.repository;
+
+import java.math.BigDecimal;
+
+public record RollupTotal(int year, int month, Long categoryId, BigDecimal total, long count) {}
@@ -0,0 +1,86 @@
+package com.expensetracker.backend.repository;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+
+// What the connected schema already has, read from information_schema, and the DDL that fills the gaps.
+// SCHEMA() is the current database on MySQL and the current schema on H2; names compare case-insensitively
+// because H2 stores them upper-case.
+@Repository
+public class SchemaUpgradeRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private volatile Boolean mySql;
+
+    public SchemaUpgradeRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public boolean hasTable(String table) {
+        return exists("SELECT COUNT(*) FROM information_schema.tables"
+                + " WHERE table_schema = SCHEMA() AND LOWER(table_name) = :table", table, null);
+    }
+
+    public boolean hasColumn(String table, String column) {
+        return exists("SELECT COUNT(*) FROM information_schema.columns"
+                + " WHERE table_schema = SCHEMA() AND LOWER(table_name) = :table AND LOWER(column_name) = :name",
+                table, column);
+    }
+
+    // information_schema.statistics is MySQL's; H2 lists indexes in information_schema.indexes
+    public boolean hasIndex(String table, String index) {
+        String view = isMySql() ? "statistics" : "indexes";
+        return exists("SELECT COUNT(*) FROM information_schema." + view
+                + " WHERE table_schema = SCHEMA() AND LOWER(table_name) = :table AND LOWER(index_name) = :name",
+                table, index);
+    }
+
+    public boolean hasConstraint(String table, String constraint) {
+        return exists("SELECT COUNT(*) FROM information_schema.table_constraints"
+                + " WHERE table_schema = SCHEMA() AND LOWER(table_name) = :table AND LOWER(constraint_name) = :name",
+                table, constraint);
+    }
+
+    public void execute(String ddl) {
+        jdbc.getJdbcOperations().execute(ddl);
+    }
+
+    // MySQL drops a unique key as an index; DROP CONSTRAINT only arrived in 8.0.19
+    public void dropUnique(String table, String constraint) {
+        execute("ALTER TABLE " + table + (isMySql() ? " DROP INDEX " : " DROP CONSTRAINT ") + constraint);
+    }
+
+    // Every statement in schema.sql is CREATE TABLE IF NOT EXISTS, so this only adds the missing tables
+    public void createMissingTables() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"))
+                .execute(jdbc.getJdbcTemplate().getDataSource());
+    }
+
+    private boolean exists(String sql, String table, String name) {
+        MapSqlParameterSource params = new MapSqlParameterSource("table", table);
+        if (name != null) params.addValue("name", name);
+        Integer n = jdbc.queryForObject(sql, params, Integer.class);
+        return n != null && n > 0;
+    }
+
+    private boolean isMySql() {
+        Boolean m = mySql;
+        if (m == null) {
+            try {
+                m = "MySQL".equalsIgnoreCase(JdbcUtils.extractDatabaseMetaData(jdbc.getJdbcTemplate().getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName));
+            } catch (MetaDataAccessException e) {
+                m = false;
+            }
+            mySql = m;
+        }
+        return m;
+    }
+}
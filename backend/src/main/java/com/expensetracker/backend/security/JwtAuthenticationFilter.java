@@ -1,5 +1,7 @@
 package com.expensetracker.backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,14 +15,27 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwt;
+    private final Timer valid;
+    private final Timer invalid;
 
-    public JwtAuthenticationFilter(JwtService jwt) {
+    public JwtAuthenticationFilter(JwtService jwt, MeterRegistry registry) {
         this.jwt = jwt;
+        this.valid = tokenTimer(registry, "valid");
+        this.invalid = tokenTimer(registry, "invalid");
+    }
+
+    private static Timer tokenTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.jwt.validate")
+                .description("Bearer token verification, including the verified-token cache")
+                .tag("outcome", outcome)
+                .register(registry);
     }
 
     @Override
@@ -30,7 +45,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            jwt.validateAndGetUsername(token).ifPresent(username -> {
+            long start = System.nanoTime();
+            Optional<String> user = jwt.validateAndGetUsername(token);
+            (user.isPresent() ? valid : invalid).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            user.ifPresent(username -> {
                 if (SecurityContextHolder.getContext().getAuthentication() == null) {
                     var auth = new UsernamePasswordAuthenticationToken(username, null, List.of());
                     auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -1,16 +1,22 @@
 package com.expensetracker.backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.expensetracker.backend.model.AppUser;
+import com.expensetracker.backend.service.BoundedLru;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -18,14 +24,24 @@ public class JwtService {
 
     private final SecretKey key;
     private final long expirationMillis;
+    private final JwtParser parser;
+    // SHA-256(token) -> already verified subject, so repeat requests skip HMAC checks and claim parsing
+    private final Map<String, Verified> verified;
+    private final int cacheSize;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-seconds}") long expSeconds) {
+            @Value("${app.jwt.expiration-seconds}") long expSeconds,
+            @Value("${app.jwt.cache-size:10000}") int cacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMillis = expSeconds * 1000L;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.cacheSize = cacheSize;
+        this.verified = BoundedLru.synchronizedMap(cacheSize);
     }
 
+    private record Verified(String username, long expiresAtMillis) {}
+
     public String generateToken(String user) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
@@ -37,18 +53,40 @@ public class JwtService {
     }
 
     public Optional<String> validateAndGetUsername(String token) {
+        if (cacheSize <= 0) return parse(token).map(Verified::username);
+
+        String hash = sha256(token);
+        Verified hit = verified.get(hash);
+        if (hit != null) {
+            if (hit.expiresAtMillis() > System.currentTimeMillis()) return Optional.of(hit.username());
+            verified.remove(hash);
+            return Optional.empty();
+        }
+        Optional<Verified> parsed = parse(token);
+        parsed.ifPresent(v -> verified.put(hash, v));
+        return parsed.map(Verified::username);
+    }
+
+    private Optional<Verified> parse(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return Optional.ofNullable(claims.getSubject());
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null) return Optional.empty();
+            Date exp = claims.getExpiration();
+            return Optional.of(new Verified(claims.getSubject(), exp == null ? Long.MAX_VALUE : exp.getTime()));
         } catch (Exception e) {
             return Optional.empty();
         }
     }
 
+    private static String sha256(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public String generateToken(AppUser user) {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'generateToken'");
@@ -0,0 +1,21 @@
+package com.expensetracker.backend.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The in-process caches' map: access-ordered, dropping the least recently used entry past maxSize. Single
+// calls are thread-safe; compound steps and iteration must hold the map's own monitor, synchronized (map).
+public final class BoundedLru {
+
+    private BoundedLru() {}
+
+    public static <K, V> Map<K, V> synchronizedMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.expensetracker.backend.service;
+
+// Outcome of a batched insert (duplicates: fingerprinted rows already stored), with the achieved insert rate for capacity planning
+public record BulkInsertResult(int inserted, int duplicates, long millis, double rowsPerSecond) {
+
+    static BulkInsertResult timed(int inserted, int duplicates, long startNanos) {
+        long nanos = Math.max(1, System.nanoTime() - startNanos);
+        double perSecond = inserted * 1_000_000_000.0 / nanos;
+        return new BulkInsertResult(inserted, duplicates, nanos / 1_000_000, Math.round(perSecond * 10) / 10.0);
+    }
+}
@@ -0,0 +1,9 @@
+package com.expensetracker.backend.service;
+
+// Rows changed (or removed) by a bulk operation
+public record BulkMutationResult(int affected, long millis) {
+
+    static BulkMutationResult timed(int affected, long startNanos) {
+        return new BulkMutationResult(affected, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
@@ -0,0 +1,91 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.AppUser;
+import com.expensetracker.backend.model.Category;
+import com.expensetracker.backend.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.relational.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded LRU of user id -> UserCategories, so the category list on every page load, duplicate-name checks
+// and the Uncategorized lookup on every import don't each query the table. Category writes evict.
+@Component
+public class CategoryCache {
+
+    private static final int STRIPES = 1024;
+
+    private final CategoryRepository categories;
+    private final Map<Long, UserCategories> snapshots;
+    // Bumped by every eviction of a user hashing to the stripe, so a fill that loaded before it won't store
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public CategoryCache(CategoryRepository categories, @Value("${app.category-cache.max-size:10000}") int maxSize) {
+        this.categories = categories;
+        this.snapshots = BoundedLru.synchronizedMap(maxSize);
+    }
+
+    public UserCategories forUser(Long userId) {
+        UserCategories snapshot = snapshots.get(userId);
+        if (snapshot != null) return snapshot;
+        long generation = generations.get(stripe(userId));
+        snapshot = UserCategories.of(categories.findByUserId(userId));
+        synchronized (snapshots) {
+            if (generations.get(stripe(userId)) == generation) snapshots.put(userId, snapshot);
+        }
+        return snapshot;
+    }
+
+    // Evicts now and again after the surrounding transaction commits: a fill running in between reads the
+    // pre-commit rows, and only the second eviction keeps that snapshot from being served afterwards
+    public void evict(Long userId) {
+        drop(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(userId);
+                }
+            });
+        }
+    }
+
+    private void drop(Long userId) {
+        synchronized (snapshots) {
+            generations.incrementAndGet(stripe(userId));
+            snapshots.remove(userId);
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return (int) Math.floorMod(userId, (long) STRIPES);
+    }
+
+    @EventListener
+    public void onCategorySaved(AfterSaveEvent<?> event) {
+        if (event.getEntity() instanceof Category c && c.getUserId() != null) evict(c.getUserId());
+    }
+
+    // The delete event only carries the id; drop whichever snapshot lists it
+    @EventListener
+    public void onDeleted(AfterDeleteEvent<?> event) {
+        Object id = event.getId().getValue();
+        if (event.getType() == Category.class) {
+            List<Long> owners;
+            synchronized (snapshots) {
+                owners = snapshots.entrySet().stream()
+                        .filter(e -> e.getValue().contains((Long) id)).map(Map.Entry::getKey).toList();
+            }
+            owners.forEach(this::evict);
+        } else if (event.getType() == AppUser.class) {
+            evict((Long) id);
+        }
+    }
+}
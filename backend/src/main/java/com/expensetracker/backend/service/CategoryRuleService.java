@@ -0,0 +1,176 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.Category;
+import com.expensetracker.backend.model.CategoryRule;
+import com.expensetracker.backend.model.Expense;
+import com.expensetracker.backend.repository.CategoryRuleRepository;
+import com.expensetracker.backend.repository.ExpenseRepository;
+import com.expensetracker.backend.repository.ExpenseRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.relational.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+// Auto-categorization: rule CRUD, a per-user cache of compiled matchers, and the batch re-apply pass
+@Service
+public class CategoryRuleService {
+
+    static final String UNCATEGORIZED = "Uncategorized";
+    private static final int REAPPLY_BATCH = 1000;
+
+    private final CategoryRuleRepository rules;
+    private final CategoryCache categories;
+    private final ExpenseRepository expenses;
+    private final ExpenseRollupRepository rollup;
+    private final TransactionTemplate tx;
+    private final ExpenseChangeVersions changes;
+    private final Map<Long, CategoryRules> compiled;
+
+    public CategoryRuleService(CategoryRuleRepository rules, CategoryCache categories, ExpenseRepository expenses,
+                               ExpenseRollupRepository rollup, TransactionTemplate tx, ExpenseChangeVersions changes,
+                               @Value("${app.rules.cache-size:10000}") int cacheSize) {
+        this.rules = rules;
+        this.categories = categories;
+        this.expenses = expenses;
+        this.rollup = rollup;
+        this.tx = tx;
+        this.changes = changes;
+        this.compiled = BoundedLru.synchronizedMap(cacheSize);
+    }
+
+    public List<CategoryRule> list(Long userId) {
+        return rules.findByUserId(userId);
+    }
+
+    public CategoryRule create(Long userId, CategoryRule rule) {
+        if (!CategoryRules.hasText(rule.getKeyword()) && !CategoryRules.hasText(rule.getPattern())
+                && rule.getMinAmount() == null && rule.getMaxAmount() == null) {
+            throw new IllegalArgumentException("A rule needs a keyword, a pattern or an amount range");
+        }
+        if (rule.getMinAmount() != null && rule.getMaxAmount() != null
+                && rule.getMinAmount().compareTo(rule.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount is greater than maxAmount");
+        }
+        if (CategoryRules.hasText(rule.getPattern())) {
+            try {
+                Pattern.compile(rule.getPattern());
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid pattern: " + e.getDescription());
+            }
+            // Patterns run against every imported description, so refuse the catastrophic-backtracking shape
+            if (CategoryRules.hasNestedQuantifier(rule.getPattern())) {
+                throw new IllegalArgumentException("Pattern repeats a group that itself repeats, like (a+)+; simplify it");
+            }
+        }
+        if (!categories.forUser(userId).contains(rule.getCategoryId())) {
+            throw new IllegalArgumentException("Category not found");
+        }
+        rule.setUserId(userId);
+        CategoryRule saved = rules.save(rule);
+        compiled.remove(userId);
+        return saved;
+    }
+
+    public boolean delete(Long userId, Long ruleId) {
+        return rules.findByIdAndUserId(ruleId, userId).map(r -> {
+            rules.delete(r);
+            compiled.remove(userId);
+            return true;
+        }).orElse(false);
+    }
+
+    // Moves still-uncategorized rows of the batch to the category of their best matching rule
+    public void categorize(Long userId, List<Expense> batch) {
+        CategoryRules matcher = rulesFor(userId);
+        if (matcher.isEmpty() || matcher.uncategorizedId() == null) return;
+        for (Expense e : batch) {
+            if (!matcher.uncategorizedId().equals(e.getCategoryId())) continue;
+            Long category = matcher.match(e.getDescription(), e.getAmount());
+            if (category != null) e.setCategoryId(category);
+        }
+    }
+
+    // Runs the rules over stored expenses a batch at a time, each batch in its own transaction.
+    // By default only Uncategorized rows are touched; allRows also re-files rows a rule now matches differently.
+    // Rows no rule matches keep their category.
+    public RecategorizeResult reapply(Long userId, boolean allRows) {
+        CategoryRules matcher = rulesFor(userId);
+        if (matcher.isEmpty()) return new RecategorizeResult(0, 0);
+        Long onlyCategory = allRows ? null : matcher.uncategorizedId();
+        if (!allRows && onlyCategory == null) return new RecategorizeResult(0, 0);
+
+        int scanned = 0, moved = 0;
+        long afterId = 0;
+        while (true) {
+            List<Expense> batch = expenses.findBatchAfterId(userId, onlyCategory, afterId, REAPPLY_BATCH);
+            if (batch.isEmpty()) break;
+            scanned += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+
+            List<Expense> before = new ArrayList<>();
+            List<Long> targets = new ArrayList<>();
+            for (Expense e : batch) {
+                Long category = matcher.match(e.getDescription(), e.getAmount());
+                if (category != null && !category.equals(e.getCategoryId())) {
+                    before.add(e);
+                    targets.add(category);
+                }
+            }
+            if (!before.isEmpty()) moved += move(userId, before, targets);
+        }
+        return new RecategorizeResult(scanned, moved);
+    }
+
+    private int move(Long userId, List<Expense> before, List<Long> targets) {
+        Integer count = tx.execute(status -> {
+            boolean[] applied = expenses.updateCategoriesIfUnchanged(userId, before, targets);
+            List<Expense> removed = new ArrayList<>();
+            List<Expense> added = new ArrayList<>();
+            for (int i = 0; i < applied.length; i++) {
+                if (!applied[i]) continue;
+                Expense old = before.get(i);
+                Expense now = new Expense(old.getDescription(), old.getAmount(), targets.get(i), old.getExpenseDate());
+                now.setUserId(userId);
+                removed.add(old);
+                added.add(now);
+            }
+            if (!removed.isEmpty()) {
+                rollup.subtractAll(userId, removed);
+                rollup.addAll(userId, added);
+                changes.changed(userId);
+            }
+            return removed.size();
+        });
+        return count == null ? 0 : count;
+    }
+
+    CategoryRules rulesFor(Long userId) {
+        CategoryRules matcher = compiled.get(userId);
+        if (matcher != null) return matcher;
+        List<CategoryRule> userRules = rules.findByUserId(userId);
+        Long uncategorized = categories.forUser(userId).byName(UNCATEGORIZED).map(Category::getId).orElse(null);
+        matcher = userRules.isEmpty() ? CategoryRules.NONE : new CategoryRules(uncategorized, userRules);
+        compiled.put(userId, matcher);
+        return matcher;
+    }
+
+    // A new Uncategorized category changes what categorize() looks for
+    @EventListener
+    public void onCategorySaved(AfterSaveEvent<?> event) {
+        if (event.getEntity() instanceof Category c && c.getUserId() != null) compiled.remove(c.getUserId());
+    }
+
+    // Deleting a category cascades to its rules; the event only carries the id, so drop every entry
+    @EventListener
+    public void onCategoryDeleted(AfterDeleteEvent<?> event) {
+        if (event.getType() == Category.class) compiled.clear();
+    }
+}
@@ -0,0 +1,138 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.CategoryRule;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// One user's rules compiled for matching: keywords share a single Aho-Corasick pass, so a row costs
+// one scan of its description plus the (usually few) regex and amount-only rules that could still win.
+// Immutable and safe to share between threads.
+final class CategoryRules {
+
+    private static final Comparator<CategoryRule> PRECEDENCE = Comparator
+            .comparingInt(CategoryRule::getPriority).reversed()
+            .thenComparing(CategoryRule::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    static final CategoryRules NONE = new CategoryRules(null, List.of());
+
+    private static final Pattern NEVER = Pattern.compile("(?!)");
+
+    // The category imports and unassigned expenses start in; only rows still there are categorized
+    private final Long uncategorizedId;
+    // Rules by rank: index 0 wins over everything after it
+    private final CategoryRule[] rules;
+    private final Pattern[] patterns;
+    private final KeywordAutomaton keywords;
+    // Keyword index -> rule rank
+    private final int[] keywordRank;
+    // Ranks of rules without a keyword, in rank order
+    private final int[] unkeyed;
+
+    CategoryRules(Long uncategorizedId, List<CategoryRule> rules) {
+        this.uncategorizedId = uncategorizedId;
+        this.rules = rules.stream().sorted(PRECEDENCE).toArray(CategoryRule[]::new);
+        this.patterns = new Pattern[this.rules.length];
+
+        List<String> words = new ArrayList<>();
+        List<Integer> wordRanks = new ArrayList<>();
+        List<Integer> rest = new ArrayList<>();
+        for (int r = 0; r < this.rules.length; r++) {
+            CategoryRule rule = this.rules[r];
+            if (hasText(rule.getPattern())) {
+                // Rules stored before create() rejected such patterns stay inert rather than risk a runaway match
+                patterns[r] = hasNestedQuantifier(rule.getPattern())
+                        ? NEVER : Pattern.compile(rule.getPattern(), Pattern.CASE_INSENSITIVE);
+            }
+            if (hasText(rule.getKeyword())) {
+                words.add(rule.getKeyword().trim());
+                wordRanks.add(r);
+            } else {
+                rest.add(r);
+            }
+        }
+        this.keywords = new KeywordAutomaton(words);
+        this.keywordRank = wordRanks.stream().mapToInt(Integer::intValue).toArray();
+        this.unkeyed = rest.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    Long uncategorizedId() {
+        return uncategorizedId;
+    }
+
+    boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    // Category of the highest-ranked matching rule, or null when none matches
+    Long match(String description, BigDecimal amount) {
+        String text = description == null ? "" : description;
+        int[] best = { Integer.MAX_VALUE };
+        if (!keywords.isEmpty()) {
+            keywords.match(text, k -> {
+                int r = keywordRank[k];
+                if (r < best[0] && otherConditionsHold(r, text, amount)) best[0] = r;
+            });
+        }
+        for (int r : unkeyed) {
+            if (r >= best[0]) break;
+            if (otherConditionsHold(r, text, amount)) {
+                best[0] = r;
+                break;
+            }
+        }
+        return best[0] == Integer.MAX_VALUE ? null : rules[best[0]].getCategoryId();
+    }
+
+    private boolean otherConditionsHold(int rank, String text, BigDecimal amount) {
+        CategoryRule rule = rules[rank];
+        if (rule.getMinAmount() != null && (amount == null || amount.compareTo(rule.getMinAmount()) < 0)) return false;
+        if (rule.getMaxAmount() != null && (amount == null || amount.compareTo(rule.getMaxAmount()) > 0)) return false;
+        return patterns[rank] == null || patterns[rank].matcher(text).find();
+    }
+
+    // True for a repeated group whose body also repeats, like (a+)+ or (\w*){2,}: the shape that makes a
+    // backtracking regex take exponential time on a near-miss. Escapes and character classes are skipped.
+    static boolean hasNestedQuantifier(String pattern) {
+        Deque<Boolean> outer = new ArrayDeque<>();
+        boolean repeats = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\\') {
+                i++;
+            } else if (ch == '[') {
+                i = endOfClass(pattern, i);
+            } else if (ch == '(') {
+                outer.push(repeats);
+                repeats = false;
+            } else if (ch == ')') {
+                boolean inner = repeats;
+                if (inner && i + 1 < pattern.length() && "*+{".indexOf(pattern.charAt(i + 1)) >= 0) return true;
+                repeats = (!outer.isEmpty() && outer.pop()) || inner;
+            } else if ("*+{".indexOf(ch) >= 0 || (ch == '?' && i > 0 && pattern.charAt(i - 1) != '(')) {
+                repeats = true;
+            }
+        }
+        return false;
+    }
+
+    private static int endOfClass(String pattern, int open) {
+        int depth = 0;
+        for (int i = open; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\\') i++;
+            else if (ch == '[') depth++;
+            else if (ch == ']' && --depth == 0) return i;
+        }
+        return pattern.length();
+    }
+
+    static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+}
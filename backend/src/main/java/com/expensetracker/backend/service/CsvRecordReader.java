@@ -0,0 +1,98 @@
+package com.expensetracker.backend.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads CSV records one at a time so an export of any size is parsed in constant memory.
+// Handles quoted fields (embedded delimiters, doubled quotes, line breaks), a UTF-8 BOM, and
+// comma, semicolon or tab delimiters, picked from whichever is most frequent on the first line.
+final class CsvRecordReader implements Closeable {
+
+    private static final int SNIFF_LIMIT = 64 * 1024;
+
+    private final BufferedReader in;
+    private final char delimiter;
+    private boolean eof;
+
+    CsvRecordReader(Reader reader) throws IOException {
+        this.in = reader instanceof BufferedReader b ? b : new BufferedReader(reader, SNIFF_LIMIT);
+        in.mark(1);
+        if (in.read() != '\uFEFF') in.reset();
+        in.mark(SNIFF_LIMIT);
+        String line = in.readLine();
+        in.reset();
+        this.delimiter = sniffDelimiter(line == null ? "" : line);
+    }
+
+    private static char sniffDelimiter(String line) {
+        int commas = 0, semicolons = 0, tabs = 0;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '"') quoted = !quoted;
+            else if (!quoted && ch == ',') commas++;
+            else if (!quoted && ch == ';') semicolons++;
+            else if (!quoted && ch == '\t') tabs++;
+        }
+        if (semicolons > commas && semicolons >= tabs) return ';';
+        if (tabs > commas) return '\t';
+        return ',';
+    }
+
+    // Next record's fields, or null at end of input
+    List<String> next() throws IOException {
+        if (eof) return null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int ch = in.read();
+        if (ch < 0) {
+            eof = true;
+            return null;
+        }
+        while (true) {
+            if (ch < 0) {
+                eof = true;
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (ch == '"') {
+                    in.mark(1);
+                    int peek = in.read();
+                    if (peek == '"') field.append('"');
+                    else {
+                        quoted = false;
+                        if (peek >= 0) in.reset();
+                    }
+                } else {
+                    field.append((char) ch);
+                }
+            } else if (ch == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (ch == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    in.mark(1);
+                    if (in.read() != '\n') in.reset();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) ch);
+            }
+            ch = in.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,98 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.repository.CategoryTotal;
+import com.expensetracker.backend.repository.DailyTotal;
+import com.expensetracker.backend.repository.ExpenseRepository;
+import com.expensetracker.backend.repository.ExpenseRollupRepository;
+import com.expensetracker.backend.repository.MonthlyTotal;
+import com.expensetracker.backend.repository.RollupTotal;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ExpenseAnalyticsService {
+
+    private final ExpenseRepository repo;
+    private final ExpenseRollupRepository rollup;
+    private final UserIdCache users;
+    private final ExpenseChangeVersions changes;
+
+    public ExpenseAnalyticsService(ExpenseRepository repo, ExpenseRollupRepository rollup, UserIdCache users,
+                                   ExpenseChangeVersions changes) {
+        this.repo = repo;
+        this.rollup = rollup;
+        this.users = users;
+        this.changes = changes;
+    }
+
+    private Long userIdFromUsername(String username) {
+        return users.idFor(username);
+    }
+
+    // Whole-month ranges are answered from the rollup; partial months fall back to GROUP BY over the ledger
+    public List<MonthlyTotal> monthly(String username, LocalDate from, LocalDate to) {
+        Long uid = userIdFromUsername(username);
+        if (monthAligned(from, to)) return rollup.totalsByMonth(uid, period(from), period(to));
+        return repo.totalsByMonth(uid, from, to);
+    }
+
+    public List<DailyTotal> daily(String username, LocalDate from, LocalDate to) {
+        return repo.totalsByDay(userIdFromUsername(username), from, to);
+    }
+
+    public List<CategoryTotal> byCategory(String username, LocalDate from, LocalDate to) {
+        Long uid = userIdFromUsername(username);
+        if (monthAligned(from, to)) return rollup.totalsByCategory(uid, period(from), period(to));
+        return repo.totalsByCategory(uid, from, to);
+    }
+
+    @Transactional
+    public RollupCheck rebuildRollup(String username) {
+        Long uid = userIdFromUsername(username);
+        rollup.rebuild(uid);
+        // The rollup-backed analytics may read differently now
+        changes.changed(uid);
+        return check(uid);
+    }
+
+    @Transactional(readOnly = true)
+    public RollupCheck verifyRollup(String username) {
+        return check(userIdFromUsername(username));
+    }
+
+    private RollupCheck check(Long userId) {
+        List<RollupTotal> expected = rollup.computeFromLedger(userId);
+        Map<String, RollupTotal> actual = new HashMap<>();
+        for (RollupTotal r : rollup.findByUserId(userId)) actual.put(key(r), r);
+
+        List<RollupTotal> mismatched = new ArrayList<>();
+        for (RollupTotal e : expected) {
+            RollupTotal a = actual.remove(key(e));
+            if (a == null || a.count() != e.count() || a.total().compareTo(e.total()) != 0) {
+                mismatched.add(a == null ? new RollupTotal(e.year(), e.month(), e.categoryId(), null, 0) : a);
+            }
+        }
+        // Whatever is left has no ledger rows behind it
+        mismatched.addAll(actual.values());
+        return new RollupCheck(mismatched.isEmpty(), expected, mismatched);
+    }
+
+    private static String key(RollupTotal r) {
+        return r.year() + "-" + r.month() + "-" + r.categoryId();
+    }
+
+    private static boolean monthAligned(LocalDate from, LocalDate to) {
+        return (from == null || from.getDayOfMonth() == 1)
+                && (to == null || to.getDayOfMonth() == to.lengthOfMonth());
+    }
+
+    private static Integer period(LocalDate d) {
+        return d == null ? null : d.getYear() * 100 + d.getMonthValue();
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.Category;
+import com.expensetracker.backend.repository.ExpenseChangeVersionRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.relational.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.stereotype.Component;
+
+// Per-user number that changes with every committed write to what expense reads return, so expense GETs can
+// answer If-None-Match with one primary-key lookup instead of the query. It lives in the database: a restart
+// never hands out a number an earlier state already had, and every instance agrees on it.
+@Component
+public class ExpenseChangeVersions {
+
+    private final ExpenseChangeVersionRepository versions;
+
+    public ExpenseChangeVersions(ExpenseChangeVersionRepository versions) {
+        this.versions = versions;
+    }
+
+    // Read it before loading the data it will tag: a write committing in between then costs a 200, never a 304
+    public long current(Long userId) {
+        return versions.current(userId);
+    }
+
+    // Called by writers inside their transaction, so the bump commits or rolls back with the write. The row
+    // lock it takes also orders concurrent writers for the same user.
+    public void changed(Long userId) {
+        versions.bump(userId);
+    }
+
+    public void changedForEveryone() {
+        versions.bumpAll();
+    }
+
+    // Expense rows hold only categoryId, but the version also tags /api/expenses/analytics/*, whose category
+    // totals join c.name, so a rename changes those responses
+    @EventListener
+    public void onCategorySaved(AfterSaveEvent<?> event) {
+        if (event.getEntity() instanceof Category c && c.getUserId() != null) changed(c.getUserId());
+    }
+
+    // Before, while the row still says whose category it was
+    @EventListener
+    public void onCategoryDeleting(BeforeDeleteEvent<?> event) {
+        if (event.getType() == Category.class) versions.bumpForCategory((Long) event.getId().getValue());
+    }
+}
@@ -0,0 +1,117 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.repository.ExpenseExportRow;
+import com.expensetracker.backend.repository.ExpenseFilter;
+import com.expensetracker.backend.repository.ExpenseRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Writes a user's ledger row by row as the database returns it; nothing is collected in memory
+@Service
+public class ExpenseExportService {
+
+    private static final String CSV_HEADER = "id,date,description,amount,category_id,category,created_at\n";
+
+    private final ExpenseRepository repo;
+    private final ObjectMapper mapper;
+
+    public ExpenseExportService(ExpenseRepository repo, ObjectMapper mapper) {
+        this.repo = repo;
+        this.mapper = mapper;
+    }
+
+    public void export(Long userId, ExpenseFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            switch (format) {
+                case CSV -> writeCsv(userId, filter, writer);
+                case NDJSON -> writeNdjson(userId, filter, writer);
+            }
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the query is abandoned with it
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Long userId, ExpenseFilter filter, Writer w) throws IOException {
+        w.write(CSV_HEADER);
+        repo.streamForExport(userId, filter, row -> {
+            try {
+                w.write(String.valueOf(row.id()));
+                w.write(',');
+                w.write(row.expenseDate().toString());
+                w.write(',');
+                writeCsvField(w, row.description());
+                w.write(',');
+                w.write(row.amount().toPlainString());
+                w.write(',');
+                w.write(String.valueOf(row.categoryId()));
+                w.write(',');
+                writeCsvField(w, row.categoryName());
+                w.write(',');
+                if (row.createdAt() != null) w.write(row.createdAt().toString());
+                w.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Quotes only when needed, doubling embedded quotes (RFC 4180)
+    private static void writeCsvField(Writer w, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            w.write(value);
+            return;
+        }
+        w.write('"');
+        w.write(value.replace("\"", "\"\""));
+        w.write('"');
+    }
+
+    private void writeNdjson(Long userId, ExpenseFilter filter, Writer w) throws IOException {
+        JsonGenerator gen = mapper.getFactory().createGenerator(w)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                // Rows are separated by our own newlines rather than Jackson's default space
+                .setRootValueSeparator(null);
+        repo.streamForExport(userId, filter, row -> {
+            try {
+                writeJson(gen, row);
+                // Hands the row to the buffered writer; the network only sees full buffers
+                gen.flush();
+                w.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        gen.close();
+    }
+
+    private static void writeJson(JsonGenerator gen, ExpenseExportRow row) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", row.id());
+        gen.writeStringField("date", row.expenseDate().toString());
+        gen.writeStringField("description", row.description());
+        gen.writeNumberField("amount", row.amount());
+        gen.writeNumberField("categoryId", row.categoryId());
+        gen.writeStringField("category", row.categoryName());
+        gen.writeStringField("createdAt", row.createdAt() == null ? null : row.createdAt().toString());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,68 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.Expense;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+// Identity of an imported transaction, so re-uploading an overlapping statement can skip rows it already stored
+// One instance per import: it numbers identical rows across every batch of that statement.
+public final class ExpenseFingerprint {
+
+    private final Long userId;
+    private final Map<String, Integer> seen = new HashMap<>();
+
+    public ExpenseFingerprint(Long userId) {
+        this.userId = userId;
+    }
+
+    // Fingerprints rows in statement order. Identical rows (two equal coffees on one day) get distinct
+    // occurrence numbers, so both are kept the first time and both are recognised on re-import.
+    public void assign(List<Expense> batch) {
+        for (Expense e : batch) {
+            String key = userId + "|" + e.getExpenseDate() + "|" + normalizeAmount(e.getAmount())
+                    + "|" + normalizeDescription(e.getDescription());
+            int occurrence = seen.merge(key, 1, Integer::sum);
+            e.setFingerprint(hash(key + "|" + occurrence));
+        }
+    }
+
+    static String normalizeAmount(BigDecimal amount) {
+        return amount.abs().stripTrailingZeros().toPlainString();
+    }
+
+    // Case, accents, punctuation and spacing differ between export formats of the same bank
+    static String normalizeDescription(String description) {
+        String s = Normalizer.normalize(description == null ? "" : description, Normalizer.Form.NFKD);
+        StringBuilder out = new StringBuilder(s.length());
+        boolean space = false;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                if (space && out.length() > 0) out.append(' ');
+                out.append(Character.toLowerCase(ch));
+                space = false;
+            } else if (Character.getType(ch) != Character.NON_SPACING_MARK) {
+                space = true;
+            }
+        }
+        return out.toString();
+    }
+
+    // First 128 bits of SHA-256 as hex: fixed width for the index, collisions are not a practical concern
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.Category;
+import com.expensetracker.backend.model.Expense;
+import com.expensetracker.backend.repository.AppUserRepository;
+import com.expensetracker.backend.repository.CategoryRepository;
+import com.expensetracker.backend.service.StatementParsing.ParsedTransaction;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+// Statement parsing and persistence shared by the synchronous upload and background import jobs
+@Service
+public class ExpenseImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseImportService.class);
+
+    // CSV rows buffered to detect the column layout before the rest of the file is streamed
+    private static final int CSV_LAYOUT_SAMPLE = 50;
+
+    private final ExpenseService expenses;
+    private final CategoryRepository categories;
+    private final CategoryCache categoryCache;
+    private final AppUserRepository users;
+    private final TransactionTemplate tx;
+    private final StatementParserRegistry parsers;
+    private final ImportMetrics metrics;
+    // Heap PDFBox may use per open document for decoded streams before spilling to temp files
+    private final MemoryUsageSetting scratch;
+    // Rows per transaction when streaming CSV/OFX imports to the database
+    private final int flushRows;
+
+    public ExpenseImportService(ExpenseService expenses, CategoryRepository categories, CategoryCache categoryCache,
+                                AppUserRepository users, TransactionTemplate tx, StatementParserRegistry parsers,
+                                ImportMetrics metrics,
+                                @Value("${app.import.pdf-scratch-memory-mb:16}") long scratchMemoryMb,
+                                @Value("${app.import.flush-rows:5000}") int flushRows) {
+        this.expenses = expenses;
+        this.categories = categories;
+        this.categoryCache = categoryCache;
+        this.users = users;
+        this.tx = tx;
+        this.flushRows = Math.max(1, flushRows);
+        this.scratch = MemoryUsageSetting.setupMixed(scratchMemoryMb * 1024 * 1024);
+        this.parsers = parsers;
+        this.metrics = metrics;
+    }
+
+    // Text-based PDFs only (scanned PDFs won’t work)
+    public String extractText(Path pdf) throws IOException {
+        try (PDDocument doc = open(pdf)) {
+            return StatementDocument.fullText(doc);
+        }
+    }
+
+    // Reads through a buffered file handle rather than a heap copy of the upload
+    private PDDocument open(Path pdf) throws IOException {
+        return Loader.loadPDF(pdf.toFile(), scratch.streamCache);
+    }
+
+    public ImportResult importPdf(Long userId, Path pdf, ImportProgress progress) throws Exception {
+        // One document model serves every extraction pass
+        StatementDocument.Source source = () -> open(pdf);
+        List<ParsedTransaction> txs;
+        long start = System.nanoTime();
+        try (PDDocument doc = source.open()) {
+            metrics.stage("load", start);
+            txs = extractTransactions(new StatementDocument(doc, source, metrics), progress);
+        }
+        progress.rowsParsed(txs.size());
+
+        Long uncategorized = getOrCreateUncategorized(userId).getId();
+        int imported = 0, failed = 0, skipped = 0;
+
+        List<Map<String, Object>> errors = new ArrayList<>();
+        List<Expense> batch = new ArrayList<>();
+        int lineNo = 0;
+        for (ParsedTransaction t : txs) {
+            lineNo++;
+            try {
+                Expense e = new Expense();
+                e.setDescription(t.description());
+                e.setAmount(t.amount().signum() <= 0 ? t.amount().abs() : t.amount());
+                e.setExpenseDate(t.date());
+                e.setCategoryId(uncategorized);
+                e.setUserId(userId);
+                batch.add(e);
+                imported++;
+            } catch (Exception ex) {
+                failed++;
+                errors.add(Map.of("line", lineNo, "error", ex.getMessage(), "raw", t.raw()));
+            }
+        }
+
+        // If still nothing, count as skipped and return quickly
+        if (batch.isEmpty() && failed == 0) {
+            metrics.rows("pdf", 0, 0, txs.size());
+            return new ImportResult(0, 0, txs.size(), List.of(), 0);
+        }
+
+        double rowsPerSecond = 0;
+        if (!batch.isEmpty()) {
+            new ExpenseFingerprint(userId).assign(batch);
+            long persistStart = System.nanoTime();
+            BulkInsertResult saved = expenses.saveImported(userId, batch);
+            metrics.stage("persist", persistStart);
+            // Rows already stored by an earlier import of an overlapping statement
+            imported -= saved.duplicates();
+            skipped += saved.duplicates();
+            rowsPerSecond = saved.rowsPerSecond();
+        }
+
+        metrics.rows("pdf", imported, failed, skipped);
+        return new ImportResult(imported, failed, skipped, errors, rowsPerSecond);
+    }
+
+    // ---------- Streaming CSV / OFX ----------
+    public ImportResult importCsv(Long userId, InputStream upload) throws IOException {
+        try (CsvRecordReader csv = new CsvRecordReader(new InputStreamReader(upload, StandardCharsets.UTF_8))) {
+            List<List<String>> sample = new ArrayList<>();
+            List<String> record;
+            while (sample.size() < CSV_LAYOUT_SAMPLE && (record = nextRecord(csv)) != null) sample.add(record);
+
+            StatementParsing.TableLayout layout = StatementParsing.detectLayout(sample);
+            if (layout == null) {
+                throw new StatementImportException("Could not find date, amount and description columns in the CSV");
+            }
+
+            StreamingImport sink = new StreamingImport(userId, "csv");
+            for (int i = layout.firstDataRow(); i < sample.size(); i++) {
+                sink.accept(StatementParsing.parseRow(layout, sample.get(i)));
+            }
+            sample.clear();
+            while ((record = nextRecord(csv)) != null) sink.accept(StatementParsing.parseRow(layout, record));
+            return sink.finish();
+        }
+    }
+
+    // Cleaned cells of the next non-blank record, or null at end of input
+    private static List<String> nextRecord(CsvRecordReader csv) throws IOException {
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            record.replaceAll(StatementParsing::clean);
+            if (record.size() > 1 || !record.get(0).isEmpty()) return record;
+        }
+        return null;
+    }
+
+    public ImportResult importOfx(Long userId, InputStream upload) throws IOException {
+        // OFX 1.x files are usually Windows-1252 and 2.x UTF-8; ASCII tags and amounts read the same in either
+        try (OfxTransactionReader ofx = new OfxTransactionReader(new InputStreamReader(upload, StandardCharsets.UTF_8))) {
+            StreamingImport sink = new StreamingImport(userId, "ofx");
+            ParsedTransaction t;
+            while ((t = ofx.next()) != null) {
+                // Only money out is an expense
+                sink.accept(t.date() == null || t.amount().signum() >= 0 ? null : t);
+            }
+            return sink.finish();
+        }
+    }
+
+    // Converts parsed rows to expenses and saves them flushRows at a time, each chunk in its own transaction
+    private final class StreamingImport {
+        private final Long userId;
+        private final String format;
+        private final Long categoryId;
+        private final ExpenseFingerprint fingerprints;
+        private final List<Expense> batch = new ArrayList<>();
+        private final long start = System.nanoTime();
+        private int imported, skipped;
+
+        StreamingImport(Long userId, String format) {
+            this.userId = userId;
+            this.format = format;
+            this.categoryId = getOrCreateUncategorized(userId).getId();
+            this.fingerprints = new ExpenseFingerprint(userId);
+        }
+
+        // null marks a row that was read but is not an expense (credit, blank or unparseable)
+        void accept(ParsedTransaction t) {
+            if (t == null) {
+                skipped++;
+                return;
+            }
+            Expense e = new Expense();
+            // Fit the expense.description column; some exports put whole memo lines here
+            String desc = t.description();
+            e.setDescription(desc.length() > 255 ? desc.substring(0, 255) : desc);
+            e.setAmount(t.amount().abs());
+            e.setExpenseDate(t.date());
+            e.setCategoryId(categoryId);
+            e.setUserId(userId);
+            batch.add(e);
+            if (batch.size() >= flushRows) flush();
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) return;
+            fingerprints.assign(batch);
+            long persistStart = System.nanoTime();
+            BulkInsertResult saved = expenses.saveImported(userId, batch);
+            metrics.stage("persist", persistStart);
+            imported += saved.inserted();
+            skipped += saved.duplicates();
+            batch.clear();
+        }
+
+        ImportResult finish() {
+            flush();
+            metrics.rows(format, imported, 0, skipped);
+            return new ImportResult(imported, 0, skipped, List.of(),
+                    BulkInsertResult.timed(imported, 0, start).rowsPerSecond());
+        }
+    }
+
+    // The first page's header picks the parser; the others only run if it finds nothing
+    private List<ParsedTransaction> extractTransactions(StatementDocument doc, ImportProgress progress) throws IOException {
+        for (StatementParser parser : parsers.rank(doc.headerLines())) {
+            long start = System.nanoTime();
+            List<ParsedTransaction> txs = parser.parse(doc, progress);
+            metrics.parse(parser.name(), !txs.isEmpty(), start);
+            if (!txs.isEmpty()) {
+                log.debug("Parsed {} transactions with the {} parser", txs.size(), parser.name());
+                return txs;
+            }
+        }
+        // Nothing matched; a PDF without text still gets the "scanned" error rather than an empty result
+        doc.lines();
+        return List.of();
+    }
+
+    private Category getOrCreateUncategorized(Long userId) {
+        Optional<Category> cached = categoryCache.forUser(userId).byName("Uncategorized");
+        if (cached.isPresent()) return cached.get();
+        // Concurrent first imports take turns on the user row, so the second finds the first one's category
+        return tx.execute(status -> {
+            users.findLockedById(userId);
+            return categories.findByUserIdAndName(userId, "Uncategorized").orElseGet(() -> {
+                Category c = new Category();
+                c.setName("Uncategorized");
+                c.setUserId(userId);
+                return categories.save(c);
+            });
+        });
+    }
+}
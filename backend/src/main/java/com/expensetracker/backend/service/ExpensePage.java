@@ -0,0 +1,8 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.Expense;
+
+import java.util.List;
+
+// One keyset page of expenses; nextCursor is null on the last page
+public record ExpensePage(List<Expense> items, String nextCursor) {}
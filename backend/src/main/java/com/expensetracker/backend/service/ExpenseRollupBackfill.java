@@ -0,0 +1,38 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.repository.ExpenseRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Populates expense_rollup for databases that predate it, or on demand with app.rollup.rebuild-on-startup=true
+@Component
+public class ExpenseRollupBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseRollupBackfill.class);
+
+    private final ExpenseRollupRepository rollup;
+    private final ExpenseChangeVersions changes;
+    private final boolean force;
+
+    public ExpenseRollupBackfill(ExpenseRollupRepository rollup, ExpenseChangeVersions changes,
+                                 @Value("${app.rollup.rebuild-on-startup:false}") boolean force) {
+        this.rollup = rollup;
+        this.changes = changes;
+        this.force = force;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (force || rollup.needsBackfill()) {
+            log.info("Rebuilding expense_rollup from the expense table");
+            rollup.rebuildAll();
+            changes.changedForEveryone();
+        }
+    }
+}
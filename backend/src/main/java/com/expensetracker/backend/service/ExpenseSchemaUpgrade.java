@@ -0,0 +1,77 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.repository.SchemaUpgradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Brings a database created by an older schema.sql up to date. CREATE TABLE IF NOT EXISTS leaves existing
+// tables alone, and deployments usually run with spring.sql.init.mode=never, so columns, keys and tables added
+// since are applied here instead. Each step checks first and is skipped once done. Runs before the other
+// startup runners, which already query the new tables.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ExpenseSchemaUpgrade implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSchemaUpgrade.class);
+
+    private static final List<String> TABLES = List.of("expense_rollup", "category_rule", "expense_change_version");
+
+    private final SchemaUpgradeRepository schema;
+    private final boolean enabled;
+
+    public ExpenseSchemaUpgrade(SchemaUpgradeRepository schema,
+                                @Value("${app.schema.upgrade-on-startup:true}") boolean enabled) {
+        this.schema = schema;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) upgrade();
+    }
+
+    public void upgrade() {
+        if (!TABLES.stream().allMatch(schema::hasTable)) {
+            apply("missing tables", schema::createMissingTables);
+        }
+        if (!schema.hasColumn("expense", "fingerprint")) {
+            apply("expense.fingerprint", "ALTER TABLE expense ADD COLUMN fingerprint CHAR(32) NULL");
+        }
+        if (!schema.hasConstraint("expense", "uq_expense_fingerprint")) {
+            apply("uq_expense_fingerprint",
+                    "ALTER TABLE expense ADD CONSTRAINT uq_expense_fingerprint UNIQUE (fingerprint, user_id)");
+        }
+        // An earlier upgrade note named the same key differently; keep one
+        if (schema.hasConstraint("expense", "uq_expense_user_fingerprint")) {
+            apply("drop uq_expense_user_fingerprint", () -> schema.dropUnique("expense", "uq_expense_user_fingerprint"));
+        }
+        // Existing rows start at version 0, as new ones do
+        if (!schema.hasColumn("expense", "version")) {
+            apply("expense.version", "ALTER TABLE expense ADD COLUMN version BIGINT NOT NULL DEFAULT 0");
+        }
+        if (!schema.hasIndex("expense", "idx_expense_user_date")) {
+            apply("idx_expense_user_date", "CREATE INDEX idx_expense_user_date ON expense (user_id, expense_date, id)");
+        }
+        if (!schema.hasIndex("expense", "idx_expense_user_category_date")) {
+            apply("idx_expense_user_category_date",
+                    "CREATE INDEX idx_expense_user_category_date ON expense (user_id, category_id, expense_date, id)");
+        }
+    }
+
+    private void apply(String step, String ddl) {
+        apply(step, () -> schema.execute(ddl));
+    }
+
+    private void apply(String step, Runnable change) {
+        log.info("Schema upgrade: {}", step);
+        change.run();
+    }
+}
@@ -0,0 +1,33 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.repository.ExpenseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// Adds the FULLTEXT index behind expense search on MySQL. It lives here rather than in schema.sql
+// because the same script also initializes H2, which has no FULLTEXT index syntax.
+@Component
+public class ExpenseSearchIndexSetup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSearchIndexSetup.class);
+
+    private final ExpenseRepository expenses;
+    private final boolean enabled;
+
+    public ExpenseSearchIndexSetup(ExpenseRepository expenses,
+                                   @Value("${app.search.create-fulltext-index:true}") boolean enabled) {
+        this.expenses = expenses;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled && expenses.ensureSearchIndex()) {
+            log.info("Created FULLTEXT index on expense.description");
+        }
+    }
+}
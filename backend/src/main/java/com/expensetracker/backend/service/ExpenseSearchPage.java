@@ -0,0 +1,8 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.Expense;
+
+import java.util.List;
+
+// One page of search results, best match first; nextOffset is null on the last page
+public record ExpenseSearchPage(List<Expense> items, Integer nextOffset) {}
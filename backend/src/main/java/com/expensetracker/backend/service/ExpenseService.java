@@ -1,59 +1,287 @@
 package com.expensetracker.backend.service;
 
 import com.expensetracker.backend.model.Expense;
-import com.expensetracker.backend.repository.ExpenseRepository;
 import com.expensetracker.backend.repository.AppUserRepository;
-import com.expensetracker.backend.model.AppUser;
+import com.expensetracker.backend.repository.ExpenseFilter;
+import com.expensetracker.backend.repository.ExpenseRepository;
+import com.expensetracker.backend.repository.ExpenseRollupRepository;
+import com.expensetracker.backend.repository.ExpenseSelection;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 
+// Every public method is timed as expense.service{method=...}
 @Service
+@Timed("expense.service")
 public class ExpenseService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int MAX_BULK_SIZE = 10_000;
+    static final int MAX_SEARCH_TERMS = 8;
+    static final int MAX_SEARCH_OFFSET = 10_000;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final ExpenseRepository repo;
-    private final AppUserRepository users;
+    private final UserIdCache users;
+    private final ExpenseRollupRepository rollup;
+    private final CategoryRuleService rules;
+    private final CategoryCache categories;
+    private final ExpenseChangeVersions changes;
+    private final AppUserRepository appUsers;
+    private final int insertBatchSize;
 
-    public ExpenseService(ExpenseRepository repo, AppUserRepository users) {
+    public ExpenseService(ExpenseRepository repo, UserIdCache users, ExpenseRollupRepository rollup,
+                          CategoryRuleService rules, CategoryCache categories, ExpenseChangeVersions changes,
+                          AppUserRepository appUsers, @Value("${app.jdbc.insert-batch-size:500}") int insertBatchSize) {
         this.repo = repo;
         this.users = users;
+        this.rollup = rollup;
+        this.rules = rules;
+        this.categories = categories;
+        this.changes = changes;
+        this.appUsers = appUsers;
+        this.insertBatchSize = Math.max(1, insertBatchSize);
     }
 
     private Long userIdFromUsername(String username) {
-        return users.findByUsername(username).map(AppUser::getId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        return users.idFor(username);
     }
 
     public List<Expense> listForUser(String username) {
         return repo.findByUserId(userIdFromUsername(username));
     }
 
+    public ExpensePage pageForUser(String username, ExpenseFilter filter, String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDate afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterDate = LocalDate.parse(parts[0]);
+            afterId = Long.parseLong(parts[1]);
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT(*)
+        List<Expense> rows = repo.findPage(userIdFromUsername(username), filter, afterDate, afterId, size + 1);
+        if (rows.size() <= size) return new ExpensePage(rows, null);
+
+        List<Expense> items = rows.subList(0, size);
+        Expense last = items.get(size - 1);
+        return new ExpensePage(List.copyOf(items), encodeCursor(last.getExpenseDate(), last.getId()));
+    }
+
+    // Ranked matches are paged by offset: relevance scores make a poor keyset, and nobody reads past a few pages
+    public ExpenseSearchPage searchForUser(String username, String query, ExpenseFilter filter, Integer offset, Integer limit) {
+        List<String> terms = searchTerms(query);
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int skip = offset == null ? 0 : Math.max(0, offset);
+        if (skip > MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException("offset must be at most " + MAX_SEARCH_OFFSET + "; narrow the search instead");
+        }
+
+        List<Expense> rows = repo.search(userIdFromUsername(username), terms, filter, skip, size + 1);
+        if (rows.size() <= size) return new ExpenseSearchPage(rows, null);
+        return new ExpenseSearchPage(List.copyOf(rows.subList(0, size)), skip + size);
+    }
+
+    // Lower-cased words of the query; punctuation only separates them
+    static List<String> searchTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query != null) {
+            for (String word : NON_WORD.split(query.toLowerCase(Locale.ROOT))) {
+                if (!word.isEmpty() && terms.size() < MAX_SEARCH_TERMS) terms.add(word);
+            }
+        }
+        if (terms.isEmpty()) throw new IllegalArgumentException("Search query needs at least one letter or digit");
+        return List.copyOf(terms);
+    }
+
+    private static String encodeCursor(LocalDate date, Long id) {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            if (parts.length != 2) throw new IllegalArgumentException();
+            LocalDate.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    @Transactional
     public Expense createForUser(String username, Expense e) {
-        e.setUserId(userIdFromUsername(username));
-        return repo.save(e);
+        Long uid = userIdFromUsername(username);
+        requireOwnCategories(uid, List.of(e));
+        e.setUserId(uid);
+        // A version is only meaningful on updates; left in, save() would treat the row as existing
+        e.setVersion(null);
+        rules.categorize(uid, List.of(e));
+        Expense saved = repo.save(e);
+        rollup.add(saved);
+        changes.changed(uid);
+        return saved;
+    }
+
+    @Transactional
+    public BulkInsertResult createAllForUser(String username, List<Expense> batch) {
+        if (batch.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " expenses per request");
+        }
+        Long uid = userIdFromUsername(username);
+        requireOwnCategories(uid, batch);
+        batch.forEach(e -> e.setUserId(uid));
+        return saveImported(uid, batch);
+    }
+
+    // Persists already-validated rows for one user (e.g. a statement import) together with their rollup deltas.
+    // Rows whose fingerprint the user already has are skipped, so re-importing a statement is a no-op.
+    // Rows filed under Uncategorized go through the user's category rules first.
+    @Transactional
+    public BulkInsertResult saveImported(Long userId, List<Expense> batch) {
+        long start = System.nanoTime();
+        // Concurrent imports for one user (a double-submit, CSV and PDF of the same rows) take turns here, so
+        // each one's duplicate check sees the rows the previous one committed instead of failing on the unique key
+        if (batch.stream().anyMatch(e -> e.getFingerprint() != null)) appUsers.findLockedById(userId);
+        rules.categorize(userId, batch);
+        List<Expense> fresh = withoutStoredDuplicates(userId, batch);
+        int inserted = fresh.isEmpty() ? 0 : repo.insertAll(fresh, insertBatchSize);
+        rollup.addAll(userId, fresh);
+        if (inserted > 0) changes.changed(userId);
+        return BulkInsertResult.timed(inserted, batch.size() - fresh.size(), start);
+    }
+
+    // Category ids come from the client; filing under another user's category would show its name in analytics
+    private void requireOwnCategories(Long uid, List<Expense> batch) {
+        UserCategories own = categories.forUser(uid);
+        for (Expense e : batch) {
+            if (!own.contains(e.getCategoryId())) {
+                throw new IllegalArgumentException("Category " + e.getCategoryId() + " not found");
+            }
+        }
+    }
+
+    private List<Expense> withoutStoredDuplicates(Long userId, List<Expense> batch) {
+        Set<String> fingerprints = new HashSet<>();
+        for (Expense e : batch) if (e.getFingerprint() != null) fingerprints.add(e.getFingerprint());
+        if (fingerprints.isEmpty()) return batch;
+
+        // A locking read: it sees the latest committed rows even where the transaction's snapshot is older
+        Set<String> stored = repo.findExistingFingerprints(userId, fingerprints);
+        if (stored.isEmpty()) return batch;
+        return batch.stream().filter(e -> e.getFingerprint() == null || !stored.contains(e.getFingerprint())).toList();
     }
 
     public Optional<Expense> findForUser(Long id, String username) {
         return repo.findByIdAndUserId(id, userIdFromUsername(username));
     }
 
+    // Locks and reads the row (the rollup needs its old month, category and amount), then one owner- and
+    // version-guarded UPDATE. A version in the request must match the stored one.
+    @Transactional
     public Optional<Expense> updateForUser(Long id, String username, Expense incoming) {
         Long uid = userIdFromUsername(username);
-        return repo.findByIdAndUserId(id, uid).map(e -> {
-            e.setDescription(incoming.getDescription());
-            e.setAmount(incoming.getAmount());
-            e.setCategoryId(incoming.getCategoryId());
-            e.setExpenseDate(incoming.getExpenseDate());
-            e.setUserId(uid);
-            return repo.save(e);
-        });
-    }
-
-    public boolean deleteForUser(Long id, String username) {
-        return findForUser(id, username).map(e -> {
-            repo.deleteById(e.getId());
-            return true;
-        }).orElse(false);
-    }
-}
\ No newline at end of file
+        requireOwnCategories(uid, List.of(incoming));
+        Optional<Expense> found = repo.findLockedByIdAndUserId(id, uid);
+        if (found.isEmpty()) return Optional.empty();
+
+        Expense e = found.get();
+        long version = e.getVersion();
+        if (incoming.getVersion() != null && incoming.getVersion() != version) throw staleVersion(id);
+        Expense before = new Expense(e.getDescription(), e.getAmount(), e.getCategoryId(), e.getExpenseDate());
+        before.setUserId(uid);
+
+        e.setDescription(incoming.getDescription());
+        e.setAmount(incoming.getAmount());
+        e.setCategoryId(incoming.getCategoryId());
+        e.setExpenseDate(incoming.getExpenseDate());
+        e.setUserId(uid);
+        if (!repo.updateIfVersion(e, version)) throw staleVersion(id);
+        e.setVersion(version + 1);
+        rollup.replace(before, e);
+        changes.changed(uid);
+        return Optional.of(e);
+    }
+
+    // No read: the rollup subtracts the row server-side, and the DELETE's row count tells whether it existed
+    @Transactional
+    public boolean deleteForUser(Long id, String username, Long expectedVersion) {
+        Long uid = userIdFromUsername(username);
+        if (rollup.subtractStored(uid, id, expectedVersion) == 0) {
+            if (expectedVersion != null && repo.existsByIdAndUserId(id, uid)) throw staleVersion(id);
+            return false;
+        }
+        // The row was locked by the subtract, so only a concurrent delete can get here; roll the subtract back
+        if (repo.deleteForUser(id, uid, expectedVersion) == 0) throw staleVersion(id);
+        changes.changed(uid);
+        return true;
+    }
+
+    // Set-based: a fixed handful of statements however many rows match. The selected rows are locked (and their
+    // versions bumped) first, so the rollup moves and the UPDATE all see the same rows.
+    @Transactional
+    public BulkMutationResult recategorizeForUser(String username, List<Long> ids, ExpenseFilter filter,
+                                                  String description, Long targetCategoryId) {
+        long start = System.nanoTime();
+        Long uid = userIdFromUsername(username);
+        if (targetCategoryId == null || !categories.forUser(uid).contains(targetCategoryId)) {
+            throw new IllegalArgumentException("targetCategoryId must be one of your categories");
+        }
+        // Rows already in the target category are left alone and not counted
+        ExpenseSelection selection = selection(uid, ids, filter, description).exceptCategory(targetCategoryId);
+        if (repo.lockSelected(selection) == 0) return BulkMutationResult.timed(0, start);
+        changes.changed(uid);
+
+        rollup.subtractSelected(selection);
+        rollup.addSelectedAs(selection, targetCategoryId);
+        return BulkMutationResult.timed(repo.recategorizeSelected(selection, targetCategoryId), start);
+    }
+
+    @Transactional
+    public BulkMutationResult deleteAllForUser(String username, List<Long> ids, ExpenseFilter filter, String description) {
+        long start = System.nanoTime();
+        Long uid = userIdFromUsername(username);
+        ExpenseSelection selection = selection(uid, ids, filter, description);
+        if (repo.lockSelected(selection) == 0) return BulkMutationResult.timed(0, start);
+        changes.changed(uid);
+
+        rollup.subtractSelected(selection);
+        return BulkMutationResult.timed(repo.deleteSelected(selection), start);
+    }
+
+    // An empty selection would mean every row the user has, which is never what a bulk request meant
+    private static ExpenseSelection selection(Long uid, List<Long> ids, ExpenseFilter filter, String description) {
+        List<String> terms = description == null || description.isBlank() ? List.of() : searchTerms(description);
+        if (ids != null && ids.isEmpty()) throw new IllegalArgumentException("ids must not be empty");
+        if (ids != null && ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " ids per request");
+        }
+        if (ids == null && terms.isEmpty() && filter.equals(ExpenseFilter.none())) {
+            throw new IllegalArgumentException("Select rows by ids, description or at least one filter");
+        }
+        return new ExpenseSelection(uid, ids, filter, terms, null);
+    }
+
+    private static OptimisticLockingFailureException staleVersion(Long id) {
+        return new OptimisticLockingFailureException("Expense " + id + " was changed by another request; reload it and retry");
+    }
+}
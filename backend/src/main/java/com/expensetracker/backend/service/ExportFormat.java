@@ -0,0 +1,24 @@
+package com.expensetracker.backend.service;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() { return contentType; }
+    public String extension() { return extension; }
+
+    public static ExportFormat parse(String value) {
+        for (ExportFormat f : values()) {
+            if (f.name().equalsIgnoreCase(value)) return f;
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
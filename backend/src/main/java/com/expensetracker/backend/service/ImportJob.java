@@ -0,0 +1,75 @@
+package com.expensetracker.backend.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Status of one background statement import, polled by the client until DONE or FAILED
+public class ImportJob implements ImportProgress {
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final String fileName;
+    private final Instant createdAt = Instant.now();
+    private final AtomicInteger totalPages = new AtomicInteger();
+    private final AtomicInteger pagesProcessed = new AtomicInteger();
+    private final AtomicInteger rowsParsed = new AtomicInteger();
+    private volatile State state = State.QUEUED;
+    private volatile ImportResult result;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    public ImportJob(Long userId, String fileName) {
+        this.userId = userId;
+        this.fileName = fileName;
+    }
+
+    @Override
+    public void pagesFound(int totalPages) {
+        this.totalPages.set(totalPages);
+    }
+
+    @Override
+    public void pageProcessed(int rowsOnPage) {
+        pagesProcessed.incrementAndGet();
+        rowsParsed.addAndGet(rowsOnPage);
+    }
+
+    @Override
+    public void rowsParsed(int rows) {
+        rowsParsed.set(rows);
+    }
+
+    void started() {
+        state = State.RUNNING;
+    }
+
+    void succeeded(ImportResult result) {
+        this.result = result;
+        this.finishedAt = Instant.now();
+        this.state = State.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = State.FAILED;
+    }
+
+    public String getId() { return id; }
+    @JsonIgnore
+    public Long getUserId() { return userId; }
+    public String getFileName() { return fileName; }
+    public State getState() { return state; }
+    public int getTotalPages() { return totalPages.get(); }
+    public int getPagesProcessed() { return pagesProcessed.get(); }
+    public int getRowsParsed() { return rowsParsed.get(); }
+    public ImportResult getResult() { return result; }
+    public String getError() { return error; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+}
@@ -0,0 +1,101 @@
+package com.expensetracker.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs statement imports on a small bounded pool so uploads don't hold Tomcat threads for the whole parse
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final ExpenseImportService importer;
+    private final ThreadPoolExecutor workers;
+    private final Duration retention;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(ExpenseImportService importer,
+                            @Value("${app.import.workers:2}") int workerCount,
+                            @Value("${app.import.queue-capacity:20}") int queueCapacity,
+                            @Value("${app.import.job-retention-minutes:60}") long retentionMinutes) {
+        this.importer = importer;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        AtomicInteger seq = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "import-worker-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    // Takes ownership of the spooled upload and deletes it once the job ends.
+    // Throws RejectedExecutionException when the queue is full.
+    public ImportJob submit(Long userId, String fileName, Path pdf) {
+        evictFinished();
+        ImportJob job = new ImportJob(userId, fileName);
+        jobs.put(job.getId(), job);
+        try {
+            workers.execute(() -> run(job, pdf));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            deleteQuietly(pdf);
+            throw e;
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, Path pdf) {
+        job.started();
+        try {
+            job.succeeded(importer.importPdf(job.getUserId(), pdf, job));
+        } catch (StatementImportException e) {
+            job.failed(e.getMessage());
+        } catch (Exception e) {
+            // The status is shown to the client; the cause (SQL, file paths) stays in the log
+            log.warn("Import job {} failed", job.getId(), e);
+            job.failed("Import failed because of a server error");
+        } finally {
+            deleteQuietly(pdf);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    public Optional<ImportJob> find(String id, Long userId) {
+        return Optional.ofNullable(jobs.get(id)).filter(j -> Objects.equals(j.getUserId(), userId));
+    }
+
+    private void evictFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(j -> j.getFinishedAt() != null && j.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
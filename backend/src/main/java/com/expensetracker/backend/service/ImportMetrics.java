@@ -0,0 +1,52 @@
+package com.expensetracker.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Where statement imports spend their time, and what becomes of the rows they read
+@Component
+public class ImportMetrics {
+
+    private final MeterRegistry registry;
+
+    public ImportMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // stage: load (open the PDF), header (first-page scan), text (full text strip), persist (save a batch)
+    void stage(String stage, long startNanos) {
+        Timer.builder("import.stage")
+                .description("Time spent in one stage of a statement import")
+                .tag("stage", stage)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // One parser's pass over a PDF; found=false when it gave way to the next parser
+    void parse(String parser, boolean found, long startNanos) {
+        Timer.builder("import.parse")
+                .description("Time a statement parser spent on a PDF")
+                .tag("parser", parser)
+                .tag("found", Boolean.toString(found))
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void rows(String format, int imported, int failed, int skipped) {
+        rows(format, "imported").increment(imported);
+        rows(format, "failed").increment(failed);
+        rows(format, "skipped").increment(skipped);
+    }
+
+    private Counter rows(String format, String outcome) {
+        return Counter.builder("import.rows")
+                .description("Statement rows by what the import did with them")
+                .tag("format", format)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
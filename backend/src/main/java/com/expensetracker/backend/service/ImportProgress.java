@@ -0,0 +1,14 @@
+package com.expensetracker.backend.service;
+
+// Callbacks from a running statement import; pageProcessed may be called from several threads at once
+public interface ImportProgress {
+
+    ImportProgress NONE = new ImportProgress() {};
+
+    default void pagesFound(int totalPages) {}
+
+    default void pageProcessed(int rowsOnPage) {}
+
+    // Final number of transactions parsed from the whole statement
+    default void rowsParsed(int rows) {}
+}
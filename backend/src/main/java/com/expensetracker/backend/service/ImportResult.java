@@ -0,0 +1,6 @@
+package com.expensetracker.backend.service;
+
+import java.util.List;
+import java.util.Map;
+
+public record ImportResult(int imported, int failed, int skipped, List<Map<String, Object>> errors, double rowsPerSecond) {}
@@ -0,0 +1,85 @@
+package com.expensetracker.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+// Aho-Corasick automaton: reports every keyword contained in a text in a single left-to-right pass,
+// so matching cost depends on the text length rather than on how many keywords a user has.
+// Matching is case-insensitive. Immutable once built.
+final class KeywordAutomaton {
+
+    private final List<Map<Character, Integer>> next = new ArrayList<>();
+    private final List<int[]> outputs = new ArrayList<>();
+    private final int[] fail;
+
+    // Keyword i is reported as i; blank keywords never match
+    KeywordAutomaton(List<String> keywords) {
+        newNode();
+        for (int i = 0; i < keywords.size(); i++) {
+            String k = keywords.get(i);
+            if (k == null || k.isBlank()) continue;
+            int node = 0;
+            for (int c = 0; c < k.length(); c++) {
+                char ch = Character.toLowerCase(k.charAt(c));
+                Integer child = next.get(node).get(ch);
+                if (child == null) {
+                    child = newNode();
+                    next.get(node).put(ch, child);
+                }
+                node = child;
+            }
+            outputs.set(node, append(outputs.get(node), i));
+        }
+
+        // Breadth-first: a node's failure link points at its longest proper suffix that is also a prefix,
+        // and it inherits that node's outputs (keywords ending inside this one)
+        fail = new int[next.size()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>(next.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : next.get(node).entrySet()) {
+                char ch = edge.getKey();
+                int child = edge.getValue();
+                int f = fail[node];
+                while (f != 0 && !next.get(f).containsKey(ch)) f = fail[f];
+                Integer target = node == 0 ? null : next.get(f).get(ch);
+                fail[child] = target == null ? 0 : target;
+                int[] inherited = outputs.get(fail[child]);
+                for (int k : inherited) outputs.set(child, append(outputs.get(child), k));
+                queue.add(child);
+            }
+        }
+    }
+
+    private int newNode() {
+        next.add(new HashMap<>(4));
+        outputs.add(new int[0]);
+        return next.size() - 1;
+    }
+
+    private static int[] append(int[] a, int v) {
+        int[] out = Arrays.copyOf(a, a.length + 1);
+        out[a.length] = v;
+        return out;
+    }
+
+    boolean isEmpty() {
+        return next.get(0).isEmpty();
+    }
+
+    void match(String text, IntConsumer onKeyword) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = Character.toLowerCase(text.charAt(i));
+            Integer to;
+            while ((to = next.get(state).get(ch)) == null && state != 0) state = fail[state];
+            state = to == null ? 0 : to;
+            for (int k : outputs.get(state)) onKeyword.accept(k);
+        }
+    }
+}
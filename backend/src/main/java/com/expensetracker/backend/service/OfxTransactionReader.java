@@ -0,0 +1,90 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.service.StatementParsing.ParsedTransaction;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+// Streams <STMTTRN> entries out of an OFX download, one at a time. Works for both SGML (OFX 1.x,
+// unclosed leaf tags) and XML (OFX 2.x) files since only tag names and the text after them are read.
+final class OfxTransactionReader implements Closeable {
+
+    private final BufferedReader in;
+    private final StringBuilder buf = new StringBuilder();
+
+    OfxTransactionReader(Reader reader) {
+        this.in = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+    }
+
+    // Next transaction with its signed amount (negative = money out), or null at end of input.
+    // Entries without a usable date or amount come back with a null date so callers can count them.
+    ParsedTransaction next() throws IOException {
+        String tag;
+        while ((tag = nextTag()) != null) {
+            if (tag.equals("STMTTRN")) return readTransaction();
+        }
+        return null;
+    }
+
+    private ParsedTransaction readTransaction() throws IOException {
+        String type = "", posted = "", amount = "", name = "", memo = "";
+        String tag;
+        while ((tag = nextTag()) != null && !tag.equals("/STMTTRN")) {
+            switch (tag) {
+                case "TRNTYPE" -> type = text();
+                case "DTPOSTED" -> posted = text();
+                case "TRNAMT" -> amount = text();
+                case "NAME" -> name = text();
+                case "MEMO" -> memo = text();
+                default -> { }
+            }
+        }
+
+        String desc = StatementParsing.clean(!name.isBlank() ? name : memo);
+        String raw = type + " " + posted + " " + amount + " " + desc;
+        try {
+            // DTPOSTED is yyyyMMdd optionally followed by time and zone, e.g. 20251004120000[-5:EST]
+            LocalDate date = LocalDate.parse(posted.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+            // A few banks write decimal commas
+            String amt = amount.indexOf('.') < 0 ? amount.replace(',', '.') : amount.replace(",", "");
+            return new ParsedTransaction(date, desc.isBlank() ? "Transaction" : desc, new BigDecimal(amt.trim()), raw);
+        } catch (RuntimeException e) {
+            return new ParsedTransaction(null, desc, null, raw);
+        }
+    }
+
+    // Upper-cased name of the next tag ("/NAME" for closing tags), or null at end of input
+    private String nextTag() throws IOException {
+        int ch;
+        while ((ch = in.read()) >= 0 && ch != '<') { }
+        if (ch < 0) return null;
+        buf.setLength(0);
+        while ((ch = in.read()) >= 0 && ch != '>') buf.append((char) ch);
+        return ch < 0 ? null : buf.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Text following the tag just read, up to the next tag
+    private String text() throws IOException {
+        buf.setLength(0);
+        in.mark(1);
+        int ch;
+        while ((ch = in.read()) >= 0 && ch != '<') {
+            buf.append((char) ch);
+            in.mark(1);
+        }
+        if (ch == '<') in.reset();
+        return buf.toString().trim()
+                .replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
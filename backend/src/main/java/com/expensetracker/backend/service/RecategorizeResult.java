@@ -0,0 +1,3 @@
+package com.expensetracker.backend.service;
+
+public record RecategorizeResult(int scanned, int recategorized) {}
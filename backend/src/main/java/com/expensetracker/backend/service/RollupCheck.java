@@ -0,0 +1,8 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.repository.RollupTotal;
+
+import java.util.List;
+
+// Result of comparing a user's rollup rows with totals recomputed from the ledger
+public record RollupCheck(boolean consistent, List<RollupTotal> expected, List<RollupTotal> mismatched) {}
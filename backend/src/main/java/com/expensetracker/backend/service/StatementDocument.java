@@ -0,0 +1,88 @@
+package com.expensetracker.backend.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// An open statement PDF handed to the parsers; its text is extracted at most once per import
+public final class StatementDocument {
+
+    // Leading first-page lines used to recognise the statement format
+    static final int HEADER_LINES = 40;
+
+    public interface Source {
+        PDDocument open() throws IOException;
+    }
+
+    private final PDDocument pdf;
+    private final Source source;
+    private final ImportMetrics metrics;
+    private List<String> headerLines;
+    private String[] lines;
+
+    StatementDocument(PDDocument pdf, Source source, ImportMetrics metrics) {
+        this.pdf = pdf;
+        this.source = source;
+        this.metrics = metrics;
+    }
+
+    public PDDocument pdf() {
+        return pdf;
+    }
+
+    // A separate handle for another thread (PDDocument isn't thread-safe); the caller closes it
+    public PDDocument openCopy() throws IOException {
+        return source.open();
+    }
+
+    // Cleaned, non-blank lines from the top of page 1. Much cheaper than the full text.
+    public List<String> headerLines() throws IOException {
+        if (headerLines == null) {
+            long start = System.nanoTime();
+            List<String> out = new ArrayList<>(HEADER_LINES);
+            if (pdf.getNumberOfPages() > 0) {
+                for (String raw : StatementParsing.splitLines(text(pdf, 1, 1))) {
+                    String s = StatementParsing.clean(raw);
+                    if (s.isEmpty()) continue;
+                    out.add(s);
+                    if (out.size() == HEADER_LINES) break;
+                }
+            }
+            headerLines = out;
+            metrics.stage("header", start);
+        }
+        return headerLines;
+    }
+
+    // Every line of the document, for the text-based parsers
+    public String[] lines() throws IOException {
+        if (lines == null) {
+            long start = System.nanoTime();
+            lines = StatementParsing.splitLines(fullText(pdf));
+            metrics.stage("text", start);
+        }
+        return lines;
+    }
+
+    // Text-based PDFs only (scanned PDFs won’t work)
+    static String fullText(PDDocument doc) throws IOException {
+        String text = text(doc, 1, Integer.MAX_VALUE);
+        if (text == null || text.trim().isEmpty()) {
+            throw new StatementImportException("No extractable text. The PDF may be scanned.");
+        }
+        return text;
+    }
+
+    private static String text(PDDocument doc, int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true);
+        stripper.setLineSeparator("\n");
+        stripper.setWordSeparator(" ");
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        return stripper.getText(doc);
+    }
+}
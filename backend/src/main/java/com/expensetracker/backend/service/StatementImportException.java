@@ -0,0 +1,9 @@
+package com.expensetracker.backend.service;
+
+// A statement that can't be imported as uploaded (e.g. scanned, unreadable); reported to the client as 400
+public class StatementImportException extends RuntimeException {
+
+    public StatementImportException(String message) {
+        super(message);
+    }
+}
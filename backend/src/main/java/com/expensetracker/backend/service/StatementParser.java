@@ -0,0 +1,19 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.service.StatementParsing.ParsedTransaction;
+
+import java.io.IOException;
+import java.util.List;
+
+// One statement layout (a bank's export, or a generic shape such as tables or dated text lines).
+// Implementations are Spring beans; StatementParserRegistry asks each to score the first page's
+// header lines and runs the best match first.
+public interface StatementParser {
+
+    String name();
+
+    // How well the header lines fit this layout: 0 = not this format. Must be cheap; it runs on every upload.
+    int score(List<String> headerLines);
+
+    List<ParsedTransaction> parse(StatementDocument doc, ImportProgress progress) throws IOException;
+}
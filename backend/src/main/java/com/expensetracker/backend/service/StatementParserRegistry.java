@@ -0,0 +1,28 @@
+package com.expensetracker.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+// Picks statement parsers by header fingerprint, best first
+@Component
+public class StatementParserRegistry {
+
+    private final List<StatementParser> parsers;
+
+    public StatementParserRegistry(List<StatementParser> parsers) {
+        this.parsers = List.copyOf(parsers);
+    }
+
+    // Parsers that claim the format, highest score first (bean order breaks ties)
+    public List<StatementParser> rank(List<String> headerLines) {
+        record Scored(StatementParser parser, int score) {}
+        return parsers.stream()
+                .map(p -> new Scored(p, p.score(headerLines)))
+                .filter(s -> s.score() > 0)
+                .sorted(Comparator.comparingInt(Scored::score).reversed())
+                .map(Scored::parser)
+                .toList();
+    }
+}
@@ -0,0 +1,326 @@
+package com.expensetracker.backend.service;
+
+import java.math.BigDecimal;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Statement text/table parsing helpers. Patterns and formatters are compiled once and are immutable,
+// so every method is safe to call from concurrent imports.
+public final class StatementParsing {
+
+    private StatementParsing() {}
+
+    public record ParsedTransaction(LocalDate date, String description, BigDecimal amount, String raw) {}
+
+    private record DateMatch(int start, int end, LocalDate date) {}
+    private record AmountMatch(int start, int end, BigDecimal amount) {}
+
+    private static final Pattern LINE_BREAK = Pattern.compile("\\R");
+    private static final Pattern MULTI_SPACE = Pattern.compile("\\s{2,}");
+
+    // Allow +, -, parentheses, commas/decimals
+    private static final Pattern AMOUNT = Pattern.compile(
+            "(?:₹|INR|Rs\\.?\\s*)?[+\\-(]?\\d{1,3}(?:,\\d{3})*(?:\\.\\d{1,2})?[)]?", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DATE_LIKE = Pattern.compile(
+            "\\d{4}-\\d{2}-\\d{2}"
+            + "|\\d{2}/\\d{2}/\\d{4}"
+            + "|\\d{2}-[A-Za-z]{3}-\\d{2,4}"
+            + "|\\d{2}\\s+[A-Za-z]{3}\\s+\\d{4}"
+            + "|\\d{1,2}\\s+[A-Za-z]{3,9}\\s+\\d{4}" // 10 October 2025
+            + "|[A-Za-z]{3}\\s+\\d{1,2},\\s+\\d{4}"); // Sep 29, 2025
+
+    private static final Pattern HEADER_DATE = Pattern.compile("\\b(date|txn\\s*date|transaction\\s*date)\\b");
+    private static final Pattern HEADER_AMOUNT = Pattern.compile("\\b(amount|debit|withdrawal|dr|value)\\b");
+    private static final Pattern HEADER_DESC = Pattern.compile("\\b(description|narration|particulars|details|merchant|receiver)\\b");
+    private static final Pattern HEADER_TYPE = Pattern.compile("\\b(type|dr|cr|debit|credit)\\b");
+
+    // Date shapes searched for inside a free-text line, each paired with its formatter
+    private static final Pattern[] LINE_DATES = {
+            Pattern.compile("(\\d{4}-\\d{2}-\\d{2})", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(\\d{2}/\\d{2}/\\d{4})", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(\\d{2}-[A-Za-z]{3}-\\d{2,4})", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(\\d{2}\\s+[A-Za-z]{3}\\s+\\d{4})", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("([A-Za-z]{3}\\s+\\d{1,2},\\s+\\d{4})", Pattern.CASE_INSENSITIVE) // MMM dd, uuuu
+    };
+    private static final DateTimeFormatter[] LINE_DATE_FORMATS = {
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/uuuu"),
+            DateTimeFormatter.ofPattern("dd-MMM-uuuu"),
+            DateTimeFormatter.ofPattern("dd MMM uuuu"),
+            DateTimeFormatter.ofPattern("MMM dd, uuuu", Locale.ENGLISH)
+    };
+    private static final Pattern TWO_DIGIT_YEAR = Pattern.compile("\\d{2}-[A-Za-z]{3}-\\d{2}");
+    private static final DateTimeFormatter TWO_DIGIT_YEAR_FORMAT = DateTimeFormatter.ofPattern("dd-MMM-uu", Locale.ENGLISH);
+
+    private static final List<DateTimeFormatter> CELL_DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/uuuu"),
+            DateTimeFormatter.ofPattern("dd-MMM-uuuu", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd-MMM-uu", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd MMM uuuu", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("d MMMM uuuu", Locale.ENGLISH), // 10 October 2025
+            DateTimeFormatter.ofPattern("MMM dd, uuuu", Locale.ENGLISH)
+    );
+
+    public static String[] splitLines(String text) {
+        return LINE_BREAK.split(text);
+    }
+
+    // ---------- table rows (Tabula cells or any other tabular source) ----------
+
+    // Where a table keeps its fields; firstDataRow is the row after the detected header (0 when there is none)
+    public record TableLayout(int firstDataRow, int dateCol, int amtCol, int descCol, int typeCol) {}
+
+    public static List<ParsedTransaction> parseRows(List<List<String>> data) {
+        List<ParsedTransaction> out = new ArrayList<>();
+        TableLayout layout = detectLayout(data);
+        if (layout == null) return out;
+
+        for (int i = layout.firstDataRow(); i < data.size(); i++) {
+            ParsedTransaction t = parseRow(layout, data.get(i));
+            if (t != null) out.add(t);
+        }
+        return out;
+    }
+
+    // Detects columns from the leading rows; streaming readers pass a sample rather than the whole table.
+    // Returns null when no date, amount and description columns can be told apart.
+    public static TableLayout detectLayout(List<List<String>> data) {
+        if (data.isEmpty()) return null;
+
+        // Detect header and column indices
+        int headerIdx = -1, dateCol = -1, amtCol = -1, descCol = -1, typeCol = -1;
+        int maxCols = data.stream().mapToInt(List::size).max().orElse(0);
+
+        // try first 3 rows as header candidates
+        for (int i = 0; i < Math.min(3, data.size()); i++) {
+            List<String> r = data.get(i);
+            for (int c = 0; c < r.size(); c++) {
+                String v = r.get(c).toLowerCase();
+                if (dateCol < 0 && HEADER_DATE.matcher(v).find()) dateCol = c;
+                if (amtCol < 0 && HEADER_AMOUNT.matcher(v).find()) amtCol = c;
+                if (descCol < 0 && HEADER_DESC.matcher(v).find()) descCol = c;
+                if (typeCol < 0 && HEADER_TYPE.matcher(v).find()) typeCol = c;
+            }
+            if (dateCol >= 0 || amtCol >= 0 || descCol >= 0) { headerIdx = i; break; }
+        }
+
+        // If columns still unknown, guess based on content stats from next ~8 rows
+        if (dateCol < 0 || amtCol < 0) {
+            int sampleEnd = Math.min(data.size(), (headerIdx >= 0 ? headerIdx + 10 : 10));
+            int[] amountHits = new int[maxCols];
+            int[] dateHits = new int[maxCols];
+            for (int i = (headerIdx >= 0 ? headerIdx + 1 : 0); i < sampleEnd; i++) {
+                List<String> r = data.get(i);
+                for (int c = 0; c < r.size(); c++) {
+                    String v = r.get(c);
+                    if (isDateLike(v)) dateHits[c]++;
+                    if (AMOUNT.matcher(v).find()) amountHits[c]++;
+                }
+            }
+            amtCol = bestIdx(amountHits);
+            dateCol = bestIdx(dateHits);
+        }
+        if (descCol < 0) {
+            // pick longest-average-text column that is not date/amount
+            int best = -1;
+            double bestLen = -1;
+            for (int c = 0; c < maxCols; c++) {
+                if (c == dateCol || c == amtCol) continue;
+                double avg = 0; int cnt = 0;
+                for (int i = (headerIdx >= 0 ? headerIdx + 1 : 0); i < data.size(); i++) {
+                    List<String> r = data.get(i);
+                    if (c < r.size()) { avg += r.get(c).length(); cnt++; }
+                }
+                if (cnt > 0 && avg / cnt > bestLen) { bestLen = avg / cnt; best = c; }
+            }
+            descCol = best;
+        }
+
+        if (dateCol < 0 || amtCol < 0 || descCol < 0) return null;
+        return new TableLayout(headerIdx + 1, dateCol, amtCol, descCol, typeCol);
+    }
+
+    // One data row under a detected layout; null for credits, blank rows and cells that don't parse
+    public static ParsedTransaction parseRow(TableLayout layout, List<String> r) {
+        String rawDate = safe(r, layout.dateCol());
+        String rawAmt = safe(r, layout.amtCol());
+        String rawDesc = safe(r, layout.descCol());
+        String rawType = layout.typeCol() >= 0 ? safe(r, layout.typeCol()) : "";
+        if (!rawType.isBlank() && rawType.toUpperCase(Locale.ROOT).contains("CREDIT")) return null;
+        if (rawDate.isBlank() && rawAmt.isBlank()) return null;
+
+        try {
+            LocalDate date = parseDateFlexible(rawDate);
+            BigDecimal amt = parseAmount(rawAmt);
+            if (amt.signum() == 0) return null;
+            return new ParsedTransaction(date, rawDesc.isBlank() ? "Transaction" : rawDesc, amt, String.join(" | ", r));
+        } catch (Exception ignore) {
+            // skip invalid rows
+            return null;
+        }
+    }
+
+    // ---------- Fallback: line-based ----------
+    public static List<ParsedTransaction> extractFromLines(String[] lines) {
+        List<ParsedTransaction> out = new ArrayList<>();
+        for (String raw : lines) {
+            String s = clean(raw);
+            if (s.isBlank()) continue;
+
+            String type = txnTypeToken(s); // DEBIT / CREDIT / ""
+            if ("CREDIT".equals(type)) continue;
+
+            DateMatch dm = extractDateInLine(s);
+            if (dm == null) continue;
+            AmountMatch am = extractAmountInLine(s);
+            if (am == null) continue;
+
+            boolean dateThenAmount = am.start > dm.end;
+            boolean amountThenDate = dm.start > am.end;
+            if (!dateThenAmount && !amountThenDate) continue;
+
+            String desc = MULTI_SPACE.matcher((dateThenAmount
+                    ? s.substring(dm.end, am.start)
+                    : s.substring(am.end, dm.start))
+                    .trim()).replaceAll(" ");
+            if (desc.isBlank()) continue;
+
+            BigDecimal amt = am.amount;
+            // Treat as expense if:
+            // - explicit DEBIT keyword (PhonePe), regardless of sign
+            // - or amount is negative (SuperMoney)
+            boolean isExpense = "DEBIT".equals(type) || amt.signum() < 0;
+            if (!isExpense) continue;
+
+            out.add(new ParsedTransaction(dm.date, desc, amt.abs(), raw));
+        }
+        return out;
+    }
+
+    // ---------- helpers ----------
+
+    // Drops currency markers and collapses whitespace in one pass. Same result as replacing
+    // NBSP, "₹", "INR", "Rs." and "Rs" with spaces, then "\\s+" with one space, then trim().
+    public static String clean(String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        boolean pendingSpace = false;
+        int n = s.length();
+        for (int i = 0; i < n; ) {
+            char ch = s.charAt(i);
+            int skip = 0;
+            if (ch == '\u00A0' || ch == '₹' || isRegexSpace(ch)) skip = 1;
+            else if (ch == 'I' && s.startsWith("INR", i)) skip = 3;
+            else if (ch == 'R' && s.startsWith("Rs", i)) skip = s.startsWith("Rs.", i) ? 3 : 2;
+
+            if (skip > 0) {
+                pendingSpace = true;
+                i += skip;
+            } else {
+                if (pendingSpace) {
+                    out.append(' ');
+                    pendingSpace = false;
+                }
+                out.append(ch);
+                i++;
+            }
+        }
+        if (pendingSpace) out.append(' ');
+        return out.toString().trim();
+    }
+
+    // Characters matched by \s in java.util.regex
+    private static boolean isRegexSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    // A column-header row such as "Txn Date | Narration | Debit"
+    public static boolean looksLikeTableHeader(String line) {
+        String v = line.toLowerCase();
+        return HEADER_DATE.matcher(v).find() && (HEADER_AMOUNT.matcher(v).find() || HEADER_DESC.matcher(v).find());
+    }
+
+    // A free-text line carrying both a date and an amount, as extractFromLines expects
+    public static boolean hasDateAndAmount(String line) {
+        return extractDateInLine(line) != null && AMOUNT.matcher(line).find();
+    }
+
+    public static boolean isDateLike(String s) {
+        return DATE_LIKE.matcher(s).matches();
+    }
+
+    private static int bestIdx(int[] hits) {
+        int idx = -1, best = -1;
+        for (int i = 0; i < hits.length; i++) if (hits[i] > best) { best = hits[i]; idx = i; }
+        return idx;
+    }
+
+    private static String safe(List<String> r, int c) { return c >= 0 && c < r.size() ? r.get(c) : ""; }
+
+    private static DateMatch extractDateInLine(String s) {
+        for (int i = 0; i < LINE_DATES.length; i++) {
+            Matcher m = LINE_DATES[i].matcher(s);
+            if (m.find()) {
+                String d = m.group(1);
+                try {
+                    LocalDate date = (i == 2 && TWO_DIGIT_YEAR.matcher(d).matches())
+                            ? LocalDate.parse(d, TWO_DIGIT_YEAR_FORMAT)
+                            : LocalDate.parse(d, LINE_DATE_FORMATS[i]);
+                    return new DateMatch(m.start(1), m.end(1), date);
+                } catch (Exception ignored) {}
+            }
+        }
+        return null;
+    }
+
+    private static AmountMatch extractAmountInLine(String s) {
+        Matcher m = AMOUNT.matcher(s);
+        int start = -1, end = -1;
+        while (m.find()) { start = m.start(); end = m.end(); }
+        if (start < 0) return null;
+        BigDecimal v = parseAmount(s.substring(start, end));
+        return new AmountMatch(start, end, v);
+    }
+
+    public static BigDecimal parseAmount(String raw) {
+        StringBuilder v = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char ch = raw.charAt(i);
+            if (ch == '₹' || ch == ',' || ch == '+' || isRegexSpace(ch)) continue;
+            v.append(ch);
+        }
+        int len = v.length();
+        boolean neg = len > 0 && (v.charAt(0) == '-' || v.charAt(len - 1) == '-'
+                || (v.charAt(0) == '(' && v.charAt(len - 1) == ')'));
+        for (int i = v.length() - 1; i >= 0; i--) {
+            char ch = v.charAt(i);
+            if (ch == '-' || ch == '(' || ch == ')') v.deleteCharAt(i);
+        }
+        BigDecimal out = new BigDecimal(v.toString());
+        return neg ? out.negate() : out;
+    }
+
+    // Tries each known cell format in order; mismatches are rejected without building exceptions
+    public static LocalDate parseDateFlexible(String s) {
+        for (DateTimeFormatter f : CELL_DATE_FORMATS) {
+            ParsePosition pos = new ParsePosition(0);
+            if (f.parseUnresolved(s, pos) == null || pos.getIndex() != s.length()) continue;
+            try { return LocalDate.parse(s, f); } catch (Exception ignored) {}
+        }
+        throw new IllegalArgumentException("Invalid date: " + s);
+    }
+
+    public static String txnTypeToken(String s) {
+        String u = s.toUpperCase(Locale.ROOT);
+        if (u.contains("DEBIT")) return "DEBIT";
+        if (u.contains("CREDIT")) return "CREDIT";
+        return "";
+    }
+}
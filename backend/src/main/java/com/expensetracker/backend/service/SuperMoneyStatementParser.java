@@ -0,0 +1,73 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.service.StatementParsing.ParsedTransaction;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// SuperMoney app export: text rows "Name Bank Account Amount Date Status" under a matching header
+@Component
+@Order(10)
+public class SuperMoneyStatementParser implements StatementParser {
+
+    // e.g. "GARUDA CAFE Karnataka 1601 -250.00 4 October 2025 SUCCESS"
+    //      "KUSHAL S M Karnataka XXXXXXXXXXXX1601 +50.00 29 September 2025 SUCCESS"
+    // The bank/state column is the single word before the (masked) account number.
+    private static final Pattern ROW = Pattern.compile(
+            "^(.*?)\\s+\\S+\\s+(?:X+\\d+|\\d+)\\s+([+\\-]?\\d+(?:\\.\\d{1,2})?)\\s+(\\d{1,2}\\s+[A-Za-z]{3,9}\\s+\\d{4})\\s+(SUCCESS|FAILED)\\s*$",
+            Pattern.CASE_INSENSITIVE);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("d MMMM uuuu", Locale.ENGLISH);
+
+    @Override
+    public String name() {
+        return "supermoney";
+    }
+
+    @Override
+    public int score(List<String> headerLines) {
+        for (String line : headerLines) {
+            if (isHeader(line.toUpperCase(Locale.ROOT))) return 100;
+        }
+        return 0;
+    }
+
+    private static boolean isHeader(String upper) {
+        return upper.contains("NAME") && upper.contains("AMOUNT") && upper.contains("DATE") && upper.contains("STATUS");
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(StatementDocument doc, ImportProgress progress) throws IOException {
+        return parseLines(doc.lines());
+    }
+
+    public static List<ParsedTransaction> parseLines(String[] lines) {
+        List<ParsedTransaction> out = new ArrayList<>();
+        for (String raw : lines) {
+            String s = StatementParsing.clean(raw);
+            if (s.isBlank()) continue;
+            String up = s.toUpperCase(Locale.ROOT);
+            if (up.startsWith("TRANSACTION HISTORY") || isHeader(up)) continue;
+
+            Matcher m = ROW.matcher(s);
+            if (!m.find()) continue;
+
+            try {
+                BigDecimal amt = StatementParsing.parseAmount(m.group(2));
+                // Only expenses (negative values). Skip credits.
+                if (amt.signum() >= 0) continue;
+                LocalDate date = LocalDate.parse(m.group(3), DATE);
+                out.add(new ParsedTransaction(date, m.group(1).trim(), amt.abs(), raw));
+            } catch (Exception ignored) { }
+        }
+        return out;
+    }
+}
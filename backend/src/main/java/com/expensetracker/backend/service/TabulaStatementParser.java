@@ -0,0 +1,141 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.service.StatementParsing.ParsedTransaction;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import technology.tabula.ObjectExtractor;
+import technology.tabula.Page;
+import technology.tabula.RectangularTextContainer;
+import technology.tabula.Table;
+import technology.tabula.extractors.BasicExtractionAlgorithm;
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bank statements laid out as tables (most of them): Tabula finds the cells, StatementParsing the columns
+@Component
+@Order(50)
+public class TabulaStatementParser implements StatementParser {
+
+    // Below this many pages per worker, opening extra document handles costs more than it saves
+    private static final int MIN_PAGES_PER_WORKER = 4;
+
+    private final int parallelism;
+    // Shared by all imports so page extraction can't take more cores than configured
+    private final ExecutorService pool;
+
+    public TabulaStatementParser(@Value("${app.import.tabula-parallelism:0}") int parallelism) {
+        this.parallelism = parallelism > 0
+                ? parallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(this.parallelism, r -> {
+            Thread t = new Thread(r, "tabula-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "tabula";
+    }
+
+    // A column-header row on page 1 is strong evidence; otherwise tables are still the most common
+    // layout, so any page with text is worth a table pass. Pages without text are scans.
+    @Override
+    public int score(List<String> headerLines) {
+        if (headerLines.isEmpty()) return 0;
+        for (String line : headerLines) {
+            if (StatementParsing.looksLikeTableHeader(line)) return 40;
+        }
+        return 10;
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(StatementDocument statement, ImportProgress progress) throws IOException {
+        PDDocument doc = statement.pdf();
+        int pages = doc.getNumberOfPages();
+        progress.pagesFound(pages);
+        int workers = Math.min(parallelism, pages / MIN_PAGES_PER_WORKER);
+        if (workers <= 1) return extractPages(doc, 1, pages, progress);
+
+        // PDDocument isn't thread-safe: split into contiguous page ranges, each worker opening its own handle.
+        // The first range runs here on the document that is already open.
+        int perWorker = (pages + workers - 1) / workers;
+        List<Future<List<ParsedTransaction>>> rest = new ArrayList<>();
+        for (int first = 1 + perWorker; first <= pages; first += perWorker) {
+            int from = first, to = Math.min(pages, first + perWorker - 1);
+            rest.add(pool.submit(() -> {
+                try (PDDocument own = statement.openCopy()) {
+                    return extractPages(own, from, to, progress);
+                }
+            }));
+        }
+
+        try {
+            List<ParsedTransaction> out = extractPages(doc, 1, perWorker, progress);
+            for (Future<List<ParsedTransaction>> part : rest) out.addAll(part.get());
+            return out;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting tables", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IOException(e.getCause());
+        } finally {
+            rest.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private List<ParsedTransaction> extractPages(PDDocument doc, int from, int to, ImportProgress progress) {
+        List<ParsedTransaction> out = new ArrayList<>();
+        ObjectExtractor extractor = new ObjectExtractor(doc);
+        SpreadsheetExtractionAlgorithm sea = new SpreadsheetExtractionAlgorithm();
+        BasicExtractionAlgorithm bea = new BasicExtractionAlgorithm();
+
+        for (int i = from; i <= to; i++) {
+            Page page = extractor.extract(i);
+
+            List<Table> tables = sea.extract(page);
+            if (tables.isEmpty()) tables = bea.extract(page);
+
+            int before = out.size();
+            for (Table table : tables) {
+                out.addAll(parseTable(table));
+            }
+            progress.pageProcessed(out.size() - before);
+        }
+        return out;
+    }
+
+    private List<ParsedTransaction> parseTable(Table table) {
+        List<List<RectangularTextContainer>> rows = table.getRows();
+        if (rows == null || rows.isEmpty()) return List.of();
+
+        // Build a matrix of strings
+        List<List<String>> data = new ArrayList<>(rows.size());
+        for (var row : rows) {
+            List<String> r = new ArrayList<>(row.size());
+            for (var cell : row) r.add(StatementParsing.clean(cell.getText()));
+            data.add(r);
+        }
+        return StatementParsing.parseRows(data);
+    }
+}
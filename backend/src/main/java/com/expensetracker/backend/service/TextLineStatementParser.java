@@ -0,0 +1,37 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.service.StatementParsing.ParsedTransaction;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+// Statements printed as one transaction per text line with a date, an amount and usually a DEBIT/CREDIT
+// marker (PhonePe and similar wallet exports). Also the last resort for PDFs nothing else recognises.
+@Component
+@Order(100)
+public class TextLineStatementParser implements StatementParser {
+
+    @Override
+    public String name() {
+        return "text-lines";
+    }
+
+    @Override
+    public int score(List<String> headerLines) {
+        int typed = 0;
+        for (String line : headerLines) {
+            String up = line.toUpperCase(Locale.ROOT);
+            if (up.contains("PHONEPE")) return 60;
+            if (!StatementParsing.txnTypeToken(up).isEmpty() && StatementParsing.hasDateAndAmount(line)) typed++;
+        }
+        return typed >= 2 ? 30 : 5;
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(StatementDocument doc, ImportProgress progress) throws IOException {
+        return StatementParsing.extractFromLines(doc.lines());
+    }
+}
@@ -0,0 +1,40 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.Category;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+// One user's categories as loaded at one point in time; never mutated, a change replaces the whole snapshot.
+// Names are matched case-insensitively, as MySQL's default collation does for uq_category_name_per_user.
+public record UserCategories(List<Category> list, Map<String, Category> byLowerName, String etag) {
+
+    static UserCategories of(List<Category> rows) {
+        List<Category> sorted = rows.stream().sorted(Comparator.comparing(Category::getId)).toList();
+        Map<String, Category> byName = new HashMap<>();
+        CRC32C crc = new CRC32C();
+        for (Category c : sorted) {
+            byName.put(c.getName().toLowerCase(Locale.ROOT), c);
+            crc.update((c.getId() + "\t" + c.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        // Derived from the content, so every instance hands out the same tag for the same list. Weak, like the
+        // expense tags, so the response may still be gzipped.
+        String etag = "W/\"c" + Long.toHexString(crc.getValue()) + "-" + sorted.size() + "\"";
+        return new UserCategories(sorted, Map.copyOf(byName), etag);
+    }
+
+    public Optional<Category> byName(String name) {
+        return Optional.ofNullable(byLowerName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    public boolean contains(Long categoryId) {
+        for (Category c : list) if (c.getId().equals(categoryId)) return true;
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.model.AppUser;
+import com.expensetracker.backend.repository.AppUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.relational.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+
+// Bounded LRU of username -> user id so authenticated requests don't each pay a findByUsername round trip
+@Component
+public class UserIdCache {
+
+    private final AppUserRepository users;
+    private final Map<String, Long> ids;
+
+    public UserIdCache(AppUserRepository users, @Value("${app.user-cache.max-size:10000}") int maxSize) {
+        this.users = users;
+        this.ids = BoundedLru.synchronizedMap(maxSize);
+    }
+
+    public Long idFor(String username) {
+        Long id = ids.get(username);
+        if (id != null) return id;
+        id = users.findByUsername(username).map(AppUser::getId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        ids.put(username, id);
+        return id;
+    }
+
+    public void evict(Long userId) {
+        ids.values().removeIf(v -> Objects.equals(v, userId));
+    }
+
+    @EventListener
+    public void onUserDeleted(AfterDeleteEvent<?> event) {
+        if (event.getType() == AppUser.class) evict((Long) event.getId().getValue());
+    }
+
+    // Covers renames: the old username must stop resolving to this id
+    @EventListener
+    public void onUserSaved(AfterSaveEvent<?> event) {
+        if (event.getEntity() instanceof AppUser u && u.getId() != null) evict(u.getId());
+    }
+}
@@ -25,8 +25,57 @@ CREATE TABLE IF NOT EXISTS expense (
     category_id BIGINT NOT NULL,
     user_id BIGINT NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Hash of (user, date, amount, normalized description, occurrence) for imported rows; NULL for manual entries
+    fingerprint CHAR(32) NULL,
+    -- Bumped by every update; clients may send it back to reject edits made on a stale copy
+    version BIGINT NOT NULL DEFAULT 0,
+    INDEX idx_expense_user_date (user_id, expense_date, id),
+    INDEX idx_expense_user_category_date (user_id, category_id, expense_date, id),
+    CONSTRAINT uq_expense_fingerprint UNIQUE (fingerprint, user_id),
     CONSTRAINT fk_expense_category
         FOREIGN KEY (category_id) REFERENCES category(id) ON DELETE CASCADE,
     CONSTRAINT fk_expense_user
         FOREIGN KEY (user_id) REFERENCES app_user(id) ON DELETE CASCADE
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Per-user monthly totals by category, kept in step with expense writes
+CREATE TABLE IF NOT EXISTS expense_rollup (
+    user_id BIGINT NOT NULL,
+    expense_year SMALLINT NOT NULL,
+    expense_month TINYINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    total DECIMAL(14,2) NOT NULL,
+    cnt INT NOT NULL,
+    PRIMARY KEY (user_id, expense_year, expense_month, category_id),
+    CONSTRAINT fk_rollup_category
+        FOREIGN KEY (category_id) REFERENCES category(id) ON DELETE CASCADE,
+    CONSTRAINT fk_rollup_user
+        FOREIGN KEY (user_id) REFERENCES app_user(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Per-user auto-categorization rules, applied to imported and new uncategorized expenses
+CREATE TABLE IF NOT EXISTS category_rule (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    keyword VARCHAR(100) NULL,
+    pattern VARCHAR(200) NULL,
+    min_amount DECIMAL(12,2) NULL,
+    max_amount DECIMAL(12,2) NULL,
+    priority INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_category_rule_user (user_id),
+    CONSTRAINT fk_category_rule_category
+        FOREIGN KEY (category_id) REFERENCES category(id) ON DELETE CASCADE,
+    CONSTRAINT fk_category_rule_user
+        FOREIGN KEY (user_id) REFERENCES app_user(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Per-user counter bumped in every transaction that changes what expense reads return; expense ETags are built
+-- from it, so they stay unique across restarts and agree between instances
+CREATE TABLE IF NOT EXISTS expense_change_version (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    CONSTRAINT fk_expense_change_version_user
+        FOREIGN KEY (user_id) REFERENCES app_user(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
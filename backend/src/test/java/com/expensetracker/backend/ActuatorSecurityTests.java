@@ -0,0 +1,31 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Metrics export is off in tests by default, which would leave no /actuator/prometheus to secure
+@AutoConfigureObservability
+class ActuatorSecurityTests extends ApiTest {
+
+    @Test
+    void healthIsPublicButMetricsNeedTheScrapeToken() {
+        assertThat(http.getForEntity("/actuator/health", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(http.getForEntity("/actuator/prometheus", String.class).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        // A user's JWT is not enough
+        ApiClient user = newUser();
+        assertThat(user.get("/actuator/prometheus", String.class).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        HttpHeaders scraper = new HttpHeaders();
+        scraper.setBearerAuth("test-scrape-token");
+        var metrics = http.exchange("/actuator/prometheus", HttpMethod.GET, new HttpEntity<>(scraper), String.class);
+        assertThat(metrics.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(metrics.getBody()).contains("jvm_memory_used_bytes");
+    }
+}
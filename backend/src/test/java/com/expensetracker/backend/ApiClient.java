@@ -0,0 +1,108 @@
+package com.expensetracker.backend;
+
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// A freshly registered user calling the API with their token; every test gets users of its own
+final class ApiClient {
+
+    private final TestRestTemplate http;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    private ApiClient(TestRestTemplate http, String token) {
+        this.http = http;
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(token);
+    }
+
+    static ApiClient newUser(TestRestTemplate http) {
+        String username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        Map<String, String> credentials = Map.of("username", username, "password", "secret1");
+        http.postForEntity("/api/users/register", credentials, Map.class);
+        Map<?, ?> login = http.postForEntity("/api/auth/login", credentials, Map.class).getBody();
+        return new ApiClient(http, (String) login.get("token"));
+    }
+
+    // "Bearer <token>", for requests made without the RestTemplate (e.g. MockMvc)
+    String authorization() {
+        return headers.getFirst(HttpHeaders.AUTHORIZATION);
+    }
+
+    <T> ResponseEntity<T> get(String path, Class<T> type) {
+        return exchange(HttpMethod.GET, path, null, type, new HttpHeaders());
+    }
+
+    <T> ResponseEntity<T> get(String path, Class<T> type, HttpHeaders extra) {
+        return exchange(HttpMethod.GET, path, null, type, extra);
+    }
+
+    ResponseEntity<Map> post(String path, Object body) {
+        return exchange(HttpMethod.POST, path, body, Map.class, new HttpHeaders());
+    }
+
+    ResponseEntity<Map> put(String path, Object body) {
+        return exchange(HttpMethod.PUT, path, body, Map.class, new HttpHeaders());
+    }
+
+    ResponseEntity<Void> delete(String path) {
+        return exchange(HttpMethod.DELETE, path, null, Void.class, new HttpHeaders());
+    }
+
+    // Multipart upload as the import endpoints expect it
+    ResponseEntity<Map> upload(String path, String filename, String content) {
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("file", new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        });
+        HttpHeaders multipart = new HttpHeaders();
+        multipart.setBearerAuth(headers.getFirst(HttpHeaders.AUTHORIZATION).substring("Bearer ".length()));
+        multipart.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return http.exchange(path, HttpMethod.POST, new HttpEntity<>(form, multipart), Map.class);
+    }
+
+    long createCategory(String name) {
+        return ((Number) post("/api/categories", Map.of("name", name)).getBody().get("id")).longValue();
+    }
+
+    Map<?, ?> createExpense(String description, String amount, long categoryId, String date) {
+        return post("/api/expenses", expense(description, amount, categoryId, date)).getBody();
+    }
+
+    static Map<String, Object> expense(String description, String amount, long categoryId, String date) {
+        return Map.of("description", description, "amount", new BigDecimal(amount),
+                "categoryId", categoryId, "expenseDate", date);
+    }
+
+    // The rollup self-check: stored totals compared with a GROUP BY over the ledger
+    boolean rollupConsistent() {
+        return Boolean.TRUE.equals(get("/api/expenses/analytics/rollup/verify", Map.class).getBody().get("consistent"));
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Map<String, Object>> list(String path) {
+        return get(path, List.class).getBody();
+    }
+
+    private <T> ResponseEntity<T> exchange(HttpMethod method, String path, Object body, Class<T> type, HttpHeaders extra) {
+        HttpHeaders all = new HttpHeaders();
+        all.addAll(headers);
+        all.addAll(extra);
+        return http.exchange(path, method, new HttpEntity<>(body, all), type);
+    }
+}
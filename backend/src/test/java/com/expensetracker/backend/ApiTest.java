@@ -0,0 +1,19 @@
+package com.expensetracker.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// The running app on a random port over the H2 test database; subclasses share one application context
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+abstract class ApiTest {
+
+    @Autowired
+    protected TestRestTemplate http;
+
+    protected ApiClient newUser() {
+        return ApiClient.newUser(http);
+    }
+}
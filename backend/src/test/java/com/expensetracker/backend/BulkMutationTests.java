@@ -0,0 +1,62 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkMutationTests extends ApiTest {
+
+    @Test
+    void bulkRecategorizeAndDeleteKeepTheRollupExact() {
+        ApiClient user = newUser();
+        long food = user.createCategory("Food");
+        long travel = user.createCategory("Travel");
+        long other = user.createCategory("Other");
+        Map<?, ?> uber1 = user.createExpense("Uber to airport", "30.00", food, "2026-01-10");
+        user.createExpense("uber home", "12.00", other, "2026-02-11");
+        user.createExpense("Uber Eats", "18.00", travel, "2026-02-12");
+        Map<?, ?> coffee = user.createExpense("Coffee", "4.00", food, "2026-02-13");
+        user.createExpense("Bakery", "6.00", food, "2026-03-01");
+
+        // Description words match case-insensitively; the row already in Travel is neither changed nor counted
+        Map<?, ?> moved = user.post("/api/expenses/bulk/recategorize",
+                Map.of("description", "uber", "targetCategoryId", travel)).getBody();
+        assertThat(moved.get("affected")).isEqualTo(2);
+
+        // Ids and filters combine: only the Food row among these ids moves
+        moved = user.post("/api/expenses/bulk/recategorize", Map.of("ids", List.of(uber1.get("id"), coffee.get("id")),
+                "categoryId", food, "targetCategoryId", other)).getBody();
+        assertThat(moved.get("affected")).isEqualTo(1);
+
+        Map<?, ?> deleted = user.post("/api/expenses/bulk/delete",
+                Map.of("from", "2026-02-01", "to", "2026-02-28", "minAmount", 10)).getBody();
+        assertThat(deleted.get("affected")).isEqualTo(2);
+
+        assertThat(user.rollupConsistent()).isTrue();
+        assertThat(user.list("/api/expenses")).extracting(e -> e.get("description"))
+                .containsExactlyInAnyOrder("Uber to airport", "Coffee", "Bakery");
+        assertThat(user.list("/api/expenses/analytics/categories"))
+                .extracting(row -> row.get("categoryName"))
+                .containsExactlyInAnyOrder("Travel", "Food", "Other");
+    }
+
+    @Test
+    void bulkOperationsOnlyTouchTheCallersRows() {
+        ApiClient alice = newUser();
+        ApiClient bob = newUser();
+        Map<?, ?> bobs = bob.createExpense("rent", "900.00", bob.createCategory("Home"), "2026-05-01");
+
+        assertThat(alice.post("/api/expenses/bulk/delete", Map.of("ids", List.of(bobs.get("id")))).getBody().get("affected"))
+                .isEqualTo(0);
+        assertThat(alice.post("/api/expenses/bulk/recategorize", Map.of("ids", List.of(bobs.get("id")),
+                "targetCategoryId", alice.createCategory("Mine"))).getBody().get("affected")).isEqualTo(0);
+        assertThat(bob.list("/api/expenses")).hasSize(1);
+
+        // An empty selection would mean everything, so it is refused
+        assertThat(alice.post("/api/expenses/bulk/delete", Map.of()).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
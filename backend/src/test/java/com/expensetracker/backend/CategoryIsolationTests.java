@@ -0,0 +1,49 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryIsolationTests extends ApiTest {
+
+    @Test
+    void expensesCannotBeFiledUnderAnotherUsersCategory() {
+        ApiClient alice = newUser();
+        ApiClient bob = newUser();
+        long aliceFood = alice.createCategory("Food");
+        long bobOther = bob.createCategory("BobOther");
+
+        assertThat(alice.post("/api/expenses", ApiClient.expense("lunch", "12.50", bobOther, "2026-03-02"))
+                .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(alice.post("/api/expenses/bulk", Map.of("expenses",
+                List.of(ApiClient.expense("lunch", "12.50", bobOther, "2026-03-02")))).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+
+        Map<?, ?> lunch = alice.createExpense("lunch", "12.50", aliceFood, "2026-03-02");
+        assertThat(alice.put("/api/expenses/" + lunch.get("id"), ApiClient.expense("lunch", "12.50", bobOther, "2026-03-02"))
+                .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        assertThat(alice.list("/api/expenses/analytics/categories"))
+                .extracting(row -> row.get("categoryName"))
+                .containsExactly("Food");
+    }
+
+    @Test
+    void categoryIdInTheBodyIsIgnoredAndTheListReflectsNewCategories() {
+        ApiClient alice = newUser();
+        ApiClient bob = newUser();
+        long bobs = bob.createCategory("Groceries");
+        assertThat(bob.list("/api/categories")).extracting(c -> c.get("name")).contains("Groceries");
+
+        Map<?, ?> created = alice.post("/api/categories", Map.of("id", bobs, "name", "Taken")).getBody();
+        assertThat(((Number) created.get("id")).longValue()).isNotEqualTo(bobs);
+        assertThat(bob.list("/api/categories")).extracting(c -> c.get("name"))
+                .contains("Groceries").doesNotContain("Taken");
+        // The cached list was evicted by the insert
+        assertThat(alice.list("/api/categories")).extracting(c -> c.get("name")).contains("Taken");
+    }
+}
@@ -0,0 +1,75 @@
+package com.expensetracker.backend;
+
+import com.expensetracker.backend.model.Expense;
+import com.expensetracker.backend.repository.ExpenseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryRuleTests extends ApiTest {
+
+    @Autowired
+    private ExpenseRepository expenses;
+
+    @Test
+    void aRuleMoveSkipsRowsEditedSinceTheyWereRead() {
+        ApiClient user = newUser();
+        long groceries = user.createCategory("Groceries");
+        long travel = user.createCategory("Travel");
+        Expense kept = expenses.findById(id(user.createExpense("taxi home", "12.50", groceries, "2025-03-01"))).orElseThrow();
+        Expense edited = expenses.findById(id(user.createExpense("taxi out", "8.00", groceries, "2025-03-02"))).orElseThrow();
+
+        assertThat(user.put("/api/expenses/" + edited.getId(),
+                ApiClient.expense("taxi out", "9.00", groceries, "2025-03-02")).getStatusCode()).isEqualTo(HttpStatus.OK);
+        boolean[] applied = expenses.updateCategoriesIfUnchanged(kept.getUserId(), List.of(kept, edited), List.of(travel, travel));
+
+        assertThat(applied).containsExactly(true, false);
+        assertThat(expenses.findById(kept.getId()).orElseThrow().getCategoryId()).isEqualTo(travel);
+        assertThat(expenses.findById(edited.getId()).orElseThrow().getCategoryId()).isEqualTo(groceries);
+    }
+
+    @Test
+    void anIdInTheBodyCannotOverwriteAnotherUsersRule() {
+        ApiClient alice = newUser();
+        ApiClient bob = newUser();
+        long bobCategory = bob.createCategory("Groceries");
+        long aliceCategory = alice.createCategory("Travel");
+        Map<?, ?> bobRule = bob.post("/api/category-rules", Map.of("keyword", "market", "categoryId", bobCategory)).getBody();
+
+        ResponseEntity<Map> created = alice.post("/api/category-rules",
+                Map.of("id", bobRule.get("id"), "keyword", "taxi", "categoryId", aliceCategory));
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getBody().get("id")).isNotEqualTo(bobRule.get("id"));
+
+        List<Map<String, Object>> bobRules = bob.list("/api/category-rules");
+        assertThat(bobRules).singleElement().satisfies(rule -> {
+            assertThat(rule.get("keyword")).isEqualTo("market");
+            assertThat(rule.get("categoryId")).isEqualTo(bobRule.get("categoryId"));
+        });
+    }
+
+    @Test
+    void patternsThatBacktrackExponentiallyAreRejected() {
+        ApiClient user = newUser();
+        long category = user.createCategory("Subscriptions");
+
+        for (String nested : List.of("(a+)+$", "(\\w*)*x", "((ab)+c?)+", "(x+){2,}")) {
+            assertThat(user.post("/api/category-rules", Map.of("pattern", nested, "categoryId", category))
+                    .getStatusCode()).as(nested).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+        for (String fine : List.of("netflix|spotify", "(uber|lyft)\\s+\\d+", "[(+*)]+", "\\(a+\\)+", "(?i)amazon(\\.com)?")) {
+            assertThat(user.post("/api/category-rules", Map.of("pattern", fine, "categoryId", category))
+                    .getStatusCode()).as(fine).isEqualTo(HttpStatus.CREATED);
+        }
+    }
+
+    private static long id(Map<?, ?> body) {
+        return ((Number) body.get("id")).longValue();
+    }
+}
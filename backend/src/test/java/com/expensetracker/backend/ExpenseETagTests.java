@@ -0,0 +1,67 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpenseETagTests extends ApiTest {
+
+    @Test
+    void unchangedReadsAre304AndEveryKindOfWriteChangesTheTag() {
+        ApiClient user = newUser();
+        long food = user.createCategory("Food");
+        Map<?, ?> lunch = user.createExpense("lunch", "12.50", food, "2026-03-02");
+
+        String tag = tagOf(user.get("/api/expenses", String.class));
+        assertThat(conditional(user, "/api/expenses", tag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        user.put("/api/expenses/" + lunch.get("id"), ApiClient.expense("lunch", "13.00", food, "2026-03-02"));
+        ResponseEntity<String> afterUpdate = conditional(user, "/api/expenses", tag);
+        assertThat(afterUpdate.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterUpdate.getBody()).contains("13.0");
+        tag = tagOf(afterUpdate);
+
+        user.post("/api/expenses/analytics/rollup/rebuild", Map.of());
+        tag = assertChanged(user, tag);
+
+        // The tag also covers the analytics category totals, which show category names, so category saves change it
+        user.createCategory("Travel");
+        assertChanged(user, tag);
+    }
+
+    @Test
+    void anotherUsersWriteLeavesTheTagAlone() {
+        ApiClient alice = newUser();
+        ApiClient bob = newUser();
+        String tag = tagOf(alice.get("/api/expenses", String.class));
+
+        bob.createExpense("rent", "900.00", bob.createCategory("Home"), "2026-05-01");
+
+        assertThat(conditional(alice, "/api/expenses", tag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(tag).isNotEqualTo(tagOf(bob.get("/api/expenses", String.class)));
+    }
+
+    private String assertChanged(ApiClient user, String tag) {
+        ResponseEntity<String> response = conditional(user, "/api/expenses", tag);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(tagOf(response)).isNotEqualTo(tag);
+        return tagOf(response);
+    }
+
+    private static ResponseEntity<String> conditional(ApiClient user, String path, String tag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(tag);
+        return user.get(path, String.class, headers);
+    }
+
+    private static String tagOf(ResponseEntity<?> response) {
+        String tag = response.getHeaders().getETag();
+        assertThat(tag).isNotNull();
+        return tag;
+    }
+}
@@ -0,0 +1,45 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// MockMvc runs the export's ASYNC dispatch through the security filters on demand, so the test
+// waits for exactly that dispatch rather than for a while
+@AutoConfigureMockMvc
+class ExpenseExportTests extends ApiTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void exportStreamsOnlyTheCallersRowsThroughTheAsyncDispatch() throws Exception {
+        ApiClient alice = newUser();
+        ApiClient bob = newUser();
+        long food = alice.createCategory("Food");
+        bob.createCategory("BobOther");
+        alice.createExpense("lunch", "12.50", food, "2026-03-02");
+
+        MvcResult started = mvc.perform(get("/api/expenses/export").param("format", "csv")
+                        .header(HttpHeaders.AUTHORIZATION, alice.authorization()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("lunch")))
+                .andExpect(content().string(containsString("Food")))
+                .andExpect(content().string(not(containsString("BobOther"))));
+    }
+}
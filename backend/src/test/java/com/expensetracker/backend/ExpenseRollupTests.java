@@ -0,0 +1,41 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The rollup is maintained by deltas; after every kind of write it must still equal SUM/COUNT over the ledger
+class ExpenseRollupTests extends ApiTest {
+
+    @Test
+    void totalsFollowCreateUpdateAndDelete() {
+        ApiClient user = newUser();
+        long food = user.createCategory("Food");
+        long travel = user.createCategory("Travel");
+        Map<?, ?> a = user.createExpense("groceries", "10.00", food, "2026-01-05");
+        Map<?, ?> b = user.createExpense("dinner", "20.00", food, "2026-01-20");
+        Map<?, ?> c = user.createExpense("bus", "5.00", travel, "2026-02-01");
+
+        // Same month and category: one delta upsert
+        user.put("/api/expenses/" + a.get("id"), ApiClient.expense("groceries", "15.00", food, "2026-01-05"));
+        // Moves to another month and category: subtract and add
+        user.put("/api/expenses/" + b.get("id"), ApiClient.expense("train", "20.00", travel, "2026-02-10"));
+        user.delete("/api/expenses/" + c.get("id"));
+
+        assertThat(user.rollupConsistent()).isTrue();
+        List<Map<String, Object>> months = user.list("/api/expenses/analytics/monthly");
+        assertThat(months).hasSize(2);
+        assertMonth(months.get(0), 1, "15.00", 1);
+        assertMonth(months.get(1), 2, "20.00", 1);
+    }
+
+    static void assertMonth(Map<String, Object> row, int month, String total, int count) {
+        assertThat(row.get("month")).isEqualTo(month);
+        assertThat(new BigDecimal(row.get("total").toString())).isEqualByComparingTo(total);
+        assertThat(row.get("count")).isEqualTo(count);
+    }
+}
@@ -0,0 +1,57 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpenseVersioningTests extends ApiTest {
+
+    @Test
+    void createIgnoresClientIdAndVersion() {
+        ApiClient alice = newUser();
+        ApiClient bob = newUser();
+        Map<?, ?> bobs = bob.createExpense("rent", "900.00", bob.createCategory("Home"), "2026-05-01");
+
+        Map<String, Object> body = new HashMap<>(ApiClient.expense("coffee", "3.00", alice.createCategory("Food"), "2026-05-02"));
+        body.put("id", bobs.get("id"));
+        body.put("version", 0);
+        ResponseEntity<Map> created = alice.post("/api/expenses", body);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getBody().get("id")).isNotEqualTo(bobs.get("id"));
+        assertThat(created.getBody().get("version")).isEqualTo(0);
+        assertThat(bob.get("/api/expenses/" + bobs.get("id"), Map.class).getBody().get("description")).isEqualTo("rent");
+    }
+
+    @Test
+    void staleVersionsConflictAndForeignRowsAreNotFound() {
+        ApiClient alice = newUser();
+        ApiClient bob = newUser();
+        long food = alice.createCategory("Food");
+        Map<?, ?> lunch = alice.createExpense("lunch", "10.00", food, "2026-05-03");
+        String path = "/api/expenses/" + lunch.get("id");
+
+        Map<String, Object> edit = new HashMap<>(ApiClient.expense("lunch", "11.00", food, "2026-05-03"));
+        edit.put("version", 0);
+        ResponseEntity<Map> updated = alice.put(path, edit);
+        assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(updated.getBody().get("version")).isEqualTo(1);
+
+        // Still at version 0 as far as this edit knows
+        assertThat(alice.put(path, edit).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(alice.delete(path + "?version=0").getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        assertThat(bob.put(path, ApiClient.expense("mine", "1.00", bob.createCategory("X"), "2026-05-03"))
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(bob.delete(path).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        assertThat(alice.delete(path + "?version=1").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(alice.get(path, Map.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(alice.rollupConsistent()).isTrue();
+    }
+}
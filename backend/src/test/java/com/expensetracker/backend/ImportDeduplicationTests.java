@@ -0,0 +1,73 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportDeduplicationTests extends ApiTest {
+
+    private static final String STATEMENT = """
+            date,description,amount
+            2026-04-01,Coffee,3.50
+            2026-04-01,Coffee,3.50
+            2026-04-02,Bookshop,12.00
+            """;
+
+    @Test
+    void reimportingAStatementAddsNothing() {
+        ApiClient user = newUser();
+
+        // Two identical coffees on one day are distinct transactions (the fingerprint counts occurrences)
+        Map<?, ?> first = user.upload("/api/expenses/import/csv", "april.csv", STATEMENT).getBody();
+        assertThat(first.get("imported")).isEqualTo(3);
+
+        Map<?, ?> second = user.upload("/api/expenses/import/csv", "april.csv", STATEMENT).getBody();
+        assertThat(second.get("imported")).isEqualTo(0);
+        assertThat(second.get("skipped")).isEqualTo(3);
+
+        assertThat(user.list("/api/expenses")).hasSize(3);
+        assertThat(user.rollupConsistent()).isTrue();
+    }
+
+    @Test
+    void concurrentImportsOfOneStatementStoreEachRowOnce() {
+        StringBuilder csv = new StringBuilder("date,description,amount\n");
+        for (int i = 0; i < 300; i++) csv.append("2026-05-").append(String.format("%02d", 1 + i % 28)).append(",Shop ").append(i).append(",1.00\n");
+        ApiClient user = newUser();
+
+        // A double-submitted upload: every request reaches the duplicate check before any has inserted
+        int uploads = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Map<?, ?>>> results = new ArrayList<>();
+        for (int i = 0; i < uploads; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                var response = user.upload("/api/expenses/import/csv", "may.csv", csv.toString());
+                assertThat(response.getStatusCode().is2xxSuccessful()).as("status %s", response.getStatusCode()).isTrue();
+                return response.getBody();
+            }));
+        }
+        start.countDown();
+
+        int imported = 0, skipped = 0;
+        for (CompletableFuture<Map<?, ?>> result : results) {
+            Map<?, ?> body = result.join();
+            imported += (Integer) body.get("imported");
+            skipped += (Integer) body.get("skipped");
+        }
+        assertThat(imported).isEqualTo(300);
+        assertThat(skipped).isEqualTo(300 * (uploads - 1));
+        assertThat(user.list("/api/expenses")).hasSize(300);
+        assertThat(user.rollupConsistent()).isTrue();
+    }
+}
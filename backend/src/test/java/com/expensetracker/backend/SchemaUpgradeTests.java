@@ -0,0 +1,60 @@
+package com.expensetracker.backend;
+
+import com.expensetracker.backend.repository.SchemaUpgradeRepository;
+import com.expensetracker.backend.service.ExpenseSchemaUpgrade;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Rolls the test database back to what an older schema.sql created, then upgrades it in place
+class SchemaUpgradeTests extends ApiTest {
+
+    @Autowired
+    ExpenseSchemaUpgrade upgrade;
+
+    @Autowired
+    SchemaUpgradeRepository schema;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void addsWhatAnOlderSchemaLacks() {
+        jdbc.execute("ALTER TABLE expense DROP CONSTRAINT uq_expense_fingerprint");
+        jdbc.execute("ALTER TABLE expense DROP COLUMN fingerprint");
+        jdbc.execute("ALTER TABLE expense DROP COLUMN version");
+        jdbc.execute("DROP INDEX idx_expense_user_category_date");
+        jdbc.execute("DROP TABLE expense_change_version");
+
+        upgrade.upgrade();
+        upgrade.upgrade();
+
+        assertThat(schema.hasColumn("expense", "fingerprint")).isTrue();
+        assertThat(schema.hasConstraint("expense", "uq_expense_fingerprint")).isTrue();
+        assertThat(schema.hasColumn("expense", "version")).isTrue();
+        assertThat(schema.hasIndex("expense", "idx_expense_user_category_date")).isTrue();
+        assertThat(schema.hasTable("expense_change_version")).isTrue();
+
+        ApiClient user = newUser();
+        Map<?, ?> lunch = user.createExpense("lunch", "12.50", user.createCategory("Food"), "2026-03-02");
+        assertThat(lunch.get("version")).isEqualTo(0);
+        Map<?, ?> imported = user.upload("/api/expenses/import/csv", "march.csv",
+                "date,description,amount\n2026-03-03,Coffee,3.50\n").getBody();
+        assertThat(imported.get("imported")).isEqualTo(1);
+    }
+
+    @Test
+    void renamesTheFingerprintKeyFromTheOldUpgradeNote() {
+        jdbc.execute("ALTER TABLE expense DROP CONSTRAINT uq_expense_fingerprint");
+        jdbc.execute("ALTER TABLE expense ADD CONSTRAINT uq_expense_user_fingerprint UNIQUE (user_id, fingerprint)");
+
+        upgrade.upgrade();
+
+        assertThat(schema.hasConstraint("expense", "uq_expense_fingerprint")).isTrue();
+        assertThat(schema.hasConstraint("expense", "uq_expense_user_fingerprint")).isFalse();
+    }
+}
@@ -0,0 +1,63 @@
+package com.expensetracker.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two rows per transaction, so every file below spans several flushes and ends on a partial one
+@TestPropertySource(properties = "app.import.flush-rows=2")
+class StreamingImportTests extends ApiTest {
+
+    @Test
+    void csvRowsAreCountedOnceAcrossFlushes() {
+        ApiClient user = newUser();
+        // The identical coffees straddle the first flush; their occurrence numbers must still differ
+        String csv = """
+                date,description,amount
+                2026-06-01,Bakery,4.00
+                2026-06-02,Coffee,3.50
+                2026-06-02,Coffee,3.50
+                not a date,Broken,1.00
+                2026-06-03,"Hardware, tools",19.99
+                2026-06-04,Cinema,12.00
+                """;
+
+        Map<?, ?> first = user.upload("/api/expenses/import/csv", "june.csv", csv).getBody();
+        assertThat(first.get("imported")).isEqualTo(5);
+        assertThat(first.get("skipped")).isEqualTo(1);
+
+        Map<?, ?> again = user.upload("/api/expenses/import/csv", "june.csv", csv).getBody();
+        assertThat(again.get("imported")).isEqualTo(0);
+        assertThat(again.get("skipped")).isEqualTo(6);
+
+        assertThat(user.list("/api/expenses")).hasSize(5)
+                .extracting(e -> e.get("description")).contains("Hardware, tools");
+        assertThat(user.rollupConsistent()).isTrue();
+    }
+
+    @Test
+    void ofxDebitsAreImportedAcrossFlushesAndCreditsSkipped() {
+        ApiClient user = newUser();
+        String ofx = """
+                OFXHEADER:100
+                <OFX><BANKTRANLIST>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20260601<TRNAMT>-4.00<NAME>Bakery</STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20260601<TRNAMT>500.00<NAME>Salary</STMTTRN>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20260602<TRNAMT>-3.50<NAME>Coffee</STMTTRN>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20260603<TRNAMT>-19.99<NAME>Hardware</STMTTRN>
+                </BANKTRANLIST></OFX>
+                """;
+
+        Map<?, ?> first = user.upload("/api/expenses/import/ofx", "june.ofx", ofx).getBody();
+        assertThat(first.get("imported")).isEqualTo(3);
+        assertThat(first.get("skipped")).isEqualTo(1);
+
+        Map<?, ?> again = user.upload("/api/expenses/import/ofx", "june.ofx", ofx).getBody();
+        assertThat(again.get("imported")).isEqualTo(0);
+        assertThat(again.get("skipped")).isEqualTo(4);
+        assertThat(user.rollupConsistent()).isTrue();
+    }
+}
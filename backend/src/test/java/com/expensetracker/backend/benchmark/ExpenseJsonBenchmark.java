@@ -0,0 +1,62 @@
+package com.expensetracker.backend.benchmark;
+
+import com.expensetracker.backend.model.Expense;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Serializing GET /api/expenses-sized lists with a mapper configured the way Spring MVC's is
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExpenseJsonBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private ObjectWriter listWriter;
+    private List<Expense> expenses;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws Exception {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Expense.class));
+        Random rnd = new Random(7);
+        expenses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Expense e = new Expense("UPI/" + (100000 + rnd.nextInt(900000)) + "/Swiggy Order " + i,
+                    BigDecimal.valueOf(rnd.nextInt(500_000), 2), (long) (1 + rnd.nextInt(12)),
+                    LocalDate.of(2025, 1 + rnd.nextInt(12), 1 + rnd.nextInt(28)));
+            e.setUserId(1L);
+            expenses.add(e);
+        }
+        json = listWriter.writeValueAsBytes(expenses);
+    }
+
+    // What the message converter does: stream straight to the response
+    @Benchmark
+    public void writeToStream() throws Exception {
+        listWriter.writeValue(OutputStream.nullOutputStream(), expenses);
+    }
+
+    @Benchmark
+    public byte[] writeToBytes() throws Exception {
+        return listWriter.writeValueAsBytes(expenses);
+    }
+
+    @Benchmark
+    public Object readList() throws Exception {
+        return mapper.readValue(json, mapper.getTypeFactory().constructCollectionType(List.class, Expense.class));
+    }
+}
@@ -0,0 +1,45 @@
+package com.expensetracker.backend.benchmark;
+
+import com.expensetracker.backend.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue (login/register) and verification on their own, without the servlet filter around them
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JwtService jwt;
+    private String token;
+    private String forged;
+
+    @Setup
+    public void setup() {
+        jwt = new JwtService(SECRET, 3600, cacheSize);
+        token = jwt.generateToken("bench-user");
+        // Valid structure, wrong signature: the path every rejected request takes
+        forged = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwt.generateToken("bench-user");
+    }
+
+    @Benchmark
+    public Object validate() {
+        return jwt.validateAndGetUsername(token);
+    }
+
+    @Benchmark
+    public Object validateForged() {
+        return jwt.validateAndGetUsername(forged);
+    }
+}
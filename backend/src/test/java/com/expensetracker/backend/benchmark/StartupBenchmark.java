@@ -0,0 +1,94 @@
+package com.expensetracker.backend.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Cold-start cost of a launch command: time from process start to the first answered request, which is
+// what a user waking an idle free-tier instance waits for. Each run is a fresh JVM; the median is reported.
+//
+//   mvn -Pstartup test-compile exec:exec -Dstartup.args="5 java -jar target/backend-0.0.1-SNAPSHOT.jar"
+//   mvn -Pstartup test-compile exec:exec -Dstartup.args="5 java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar extracted/app.jar"
+//
+// extracted/app.jar is what the Dockerfile builds: the -Paot jar copied to app.jar (extract names the runnable
+// jar after its source file), unpacked with "java -Djarmode=tools -jar app.jar extract --destination extracted".
+//
+// The app reads its database and JWT settings from the environment as usual. Requests go to PORT (default
+// 8000): /actuator/health for "ready", then a failed login, which is the first request to touch the database.
+public final class StartupBenchmark {
+
+    private static final Duration GIVE_UP = Duration.ofMinutes(3);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) throw new IllegalArgumentException("usage: StartupBenchmark <runs> <command...>");
+        int runs = Integer.parseInt(args[0]);
+        List<String> command = Arrays.asList(args).subList(1, args.length);
+        String base = "http://localhost:" + System.getenv().getOrDefault("PORT", "8000");
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        long[] ready = new long[runs];
+        long[] firstQuery = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            Process app = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/startup-benchmark.log")))
+                    .start();
+            long start = System.nanoTime();
+            try {
+                awaitHealthy(http, base, app);
+                ready[i] = System.nanoTime() - start;
+                login(http, base);
+                firstQuery[i] = System.nanoTime() - start;
+            } finally {
+                app.destroy();
+                app.waitFor();
+            }
+            System.out.printf(Locale.ROOT, "run %d: ready %.0f ms, first login %.0f ms%n", i + 1, ready[i] / 1e6, firstQuery[i] / 1e6);
+        }
+        System.out.printf(Locale.ROOT, "median over %d runs: ready %.0f ms, first login %.0f ms%n",
+                runs, median(ready) / 1e6, median(firstQuery) / 1e6);
+    }
+
+    private static void awaitHealthy(HttpClient http, String base, Process app) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(base + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2)).GET().build();
+        long deadline = System.nanoTime() + GIVE_UP.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) throw new IllegalStateException("App exited with " + app.exitValue() + "; see target/startup-benchmark.log");
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+            } catch (ConnectException | HttpTimeoutException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("App not healthy after " + GIVE_UP);
+    }
+
+    // Unknown user, so the answer is 401 after a database lookup, with no side effects
+    private static void login(HttpClient http, String base) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"startup-benchmark\",\"password\":\"x\"}"))
+                .build();
+        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 401 && status != 200) throw new IllegalStateException("Login answered " + status);
+    }
+
+    private static long median(long[] values) {
+        List<Long> sorted = new ArrayList<>();
+        for (long v : values) sorted.add(v);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,64 @@
+package com.expensetracker.backend.benchmark;
+
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// A seeded synthetic statement in every shape the parsers read, shared by the benchmark and the
+// equivalence test so the speed comparison and the correctness comparison run on the same input
+final class StatementCorpus {
+
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final String[] MERCHANTS = {"GARUDA CAFE", "Swiggy Order", "AMAZON PAY INDIA", "Uber Trip", "BigBasket", "Electricity Bill"};
+
+    final String[] text;
+    final List<List<String>> table;
+    final String[] dates;
+    final String[] amounts;
+    final String[] superMoney;
+
+    StatementCorpus(int lines) {
+        Random rnd = new Random(42);
+        text = new String[lines];
+        dates = new String[lines];
+        amounts = new String[lines];
+        superMoney = new String[lines + 1];
+        superMoney[0] = "Name Bank Amount Date Status";
+        table = new ArrayList<>(lines + 1);
+        table.add(List.of("Txn Date", "Narration", "Type", "Amount"));
+
+        for (int i = 0; i < lines; i++) {
+            int day = 1 + rnd.nextInt(28), month = rnd.nextInt(12);
+            String merchant = MERCHANTS[rnd.nextInt(MERCHANTS.length)] + " " + rnd.nextInt(1000);
+            String amount = (rnd.nextInt(90) + 1) + "," + (100 + rnd.nextInt(900)) + "." + (10 + rnd.nextInt(90));
+            String type = rnd.nextInt(4) == 0 ? "CREDIT" : "DEBIT";
+
+            String date = switch (i % 4) {
+                case 0 -> String.format("2025-%02d-%02d", month + 1, day);
+                case 1 -> String.format("%02d/%02d/2025", day, month + 1);
+                case 2 -> String.format("%02d-%s-2025", day, MONTHS[month]);
+                default -> String.format("%s %02d, 2025", MONTHS[month], day);
+            };
+            dates[i] = date;
+            amounts[i] = switch (i % 3) {
+                case 0 -> amount;
+                case 1 -> "-" + amount;
+                default -> "(" + amount + ")";
+            };
+            superMoney[i + 1] = merchant + " Karnataka " + (i % 2 == 0 ? "XXXXXXXX" : "") + (1000 + rnd.nextInt(9000))
+                    + " " + (type.equals("CREDIT") ? "+" : "-") + (rnd.nextInt(5000) + 1) + "." + (10 + rnd.nextInt(90))
+                    + " " + day + " " + Month.of(month + 1).getDisplayName(TextStyle.FULL, Locale.ENGLISH)
+                    + " 2025 " + (i % 20 == 0 ? "FAILED" : "SUCCESS");
+            text[i] = switch (i % 3) {
+                case 0 -> date + "  Paid to " + merchant + "  " + type + "  ₹" + amount;
+                case 1 -> "Rs. -" + amount + " " + merchant + " " + date;
+                // Noise lines a stripped PDF page carries between transactions
+                default -> "Page " + (i / 40 + 1) + " of " + (lines / 40 + 1) + "  Statement generated for INR account";
+            };
+            table.add(List.of(date, merchant, type, (i % 5 == 0 ? "-" : "") + amount));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.expensetracker.backend.benchmark;
+
+import com.expensetracker.backend.service.StatementParsing;
+import com.expensetracker.backend.service.SuperMoneyStatementParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Parses a synthetic 10k-line statement with the precompiled parser and the legacy per-call one
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatementParsingBenchmark {
+
+    @Param({"10000"})
+    public int lines;
+
+    private StatementCorpus corpus;
+
+    @Setup
+    public void setup() {
+        corpus = new StatementCorpus(lines);
+    }
+
+    @Benchmark
+    public Object linesPrecompiled() {
+        return StatementParsing.extractFromLines(corpus.text);
+    }
+
+    @Benchmark
+    public Object linesLegacy() {
+        return LegacyStatementParsing.extractFromLines(corpus.text);
+    }
+
+    @Benchmark
+    public Object tablePrecompiled() {
+        return StatementParsing.parseRows(corpus.table);
+    }
+
+    @Benchmark
+    public Object tableLegacy() {
+        return LegacyStatementParsing.parseRows(corpus.table);
+    }
+
+    @Benchmark
+    public Object superMoneyLines() {
+        return SuperMoneyStatementParser.parseLines(corpus.superMoney);
+    }
+
+    @Benchmark
+    public Object superMoneyLegacy() {
+        return LegacyStatementParsing.extractSuperMoney(corpus.superMoney);
+    }
+
+    @Benchmark
+    public void cleanPrecompiled(Blackhole bh) {
+        for (String s : corpus.text) bh.consume(StatementParsing.clean(s));
+    }
+
+    @Benchmark
+    public void cleanLegacy(Blackhole bh) {
+        for (String s : corpus.text) bh.consume(LegacyStatementParsing.clean(s));
+    }
+
+    // Most cell dates miss the first formats, which is where the legacy exception-driven loop paid
+    @Benchmark
+    public void datesPrecompiled(Blackhole bh) {
+        for (String s : corpus.dates) bh.consume(StatementParsing.parseDateFlexible(s));
+    }
+
+    @Benchmark
+    public void datesLegacy(Blackhole bh) {
+        for (String s : corpus.dates) bh.consume(LegacyStatementParsing.parseDateFlexible(s));
+    }
+
+    @Benchmark
+    public void amountsPrecompiled(Blackhole bh) {
+        for (String s : corpus.amounts) bh.consume(StatementParsing.parseAmount(s));
+    }
+
+    @Benchmark
+    public void amountsLegacy(Blackhole bh) {
+        for (String s : corpus.amounts) bh.consume(LegacyStatementParsing.parseAmount(s));
+    }
+}
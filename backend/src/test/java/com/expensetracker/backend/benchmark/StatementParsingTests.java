@@ -0,0 +1,115 @@
+package com.expensetracker.backend.benchmark;
+
+import com.expensetracker.backend.service.StatementParsing;
+import com.expensetracker.backend.service.StatementParsing.ParsedTransaction;
+import com.expensetracker.backend.service.SuperMoneyStatementParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// StatementParsing was a speed-only rewrite of LegacyStatementParsing: both must read every input the same way
+class StatementParsingTests {
+
+    private static final StatementCorpus CORPUS = new StatementCorpus(2000);
+
+    @Test
+    void linesParseAsBefore() {
+        List<List<Object>> parsed = fromNew(StatementParsing.extractFromLines(CORPUS.text));
+        assertThat(parsed).isNotEmpty().isEqualTo(fromLegacy(LegacyStatementParsing.extractFromLines(CORPUS.text)));
+    }
+
+    @Test
+    void tableRowsParseAsBefore() {
+        List<List<Object>> parsed = fromNew(StatementParsing.parseRows(CORPUS.table));
+        assertThat(parsed).isNotEmpty().isEqualTo(fromLegacy(LegacyStatementParsing.parseRows(CORPUS.table)));
+    }
+
+    @Test
+    void superMoneyRowsParseAsBefore() {
+        List<List<Object>> parsed = fromNew(SuperMoneyStatementParser.parseLines(CORPUS.superMoney));
+        assertThat(parsed).isNotEmpty().isEqualTo(fromLegacy(LegacyStatementParsing.extractSuperMoney(CORPUS.superMoney)));
+    }
+
+    @Test
+    void cellsParseAsBefore() {
+        for (String s : CORPUS.text) assertThat(StatementParsing.clean(s)).isEqualTo(LegacyStatementParsing.clean(s));
+        for (String s : CORPUS.dates) {
+            assertThat(StatementParsing.parseDateFlexible(s)).isEqualTo(LegacyStatementParsing.parseDateFlexible(s));
+        }
+        for (String s : CORPUS.amounts) assertThat(StatementParsing.parseAmount(s)).isEqualTo(LegacyStatementParsing.parseAmount(s));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "2025-10-04    | 2025-10-04",
+            "04/10/2025    | 2025-10-04",
+            "04-Oct-2025   | 2025-10-04",
+            "04-Oct-25     | 2025-10-04",
+            "04 Oct 2025   | 2025-10-04",
+            "4 October 2025| 2025-10-04",
+            "Oct 04, 2025  | 2025-10-04"
+    })
+    void everyCellDateFormat(String cell, LocalDate expected) {
+        assertThat(StatementParsing.parseDateFlexible(cell)).isEqualTo(expected)
+                .isEqualTo(LegacyStatementParsing.parseDateFlexible(cell));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2025/10/04", "2025-13-01", "04-Oct-2025 extra"})
+    void unreadableDatesAreRejected(String cell) {
+        assertThatThrownBy(() -> StatementParsing.parseDateFlexible(cell)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LegacyStatementParsing.parseDateFlexible(cell)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "(1,234.50) | -1234.50",
+            "1,234.50-  | -1234.50",
+            "-45        | -45",
+            "+50.00     | 50.00",
+            "₹1,200.00  | 1200.00",
+            "₹ 99       | 99"
+    })
+    void amounts(String cell, BigDecimal expected) {
+        assertThat(StatementParsing.parseAmount(cell)).isEqualTo(expected)
+                .isEqualTo(LegacyStatementParsing.parseAmount(cell));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Rs. 450.00", "INR  450.00", "₹450.00", "Rs450.00"})
+    void currencyPrefixesAreDropped(String cell) {
+        assertThat(StatementParsing.clean(cell)).isEqualTo("450.00").isEqualTo(LegacyStatementParsing.clean(cell));
+    }
+
+    @Test
+    void lineEdgeCases() {
+        String[] lines = {
+                "2025-03-04  Paid to Corner Cafe  DEBIT  Rs. 450.00",
+                "04/03/2025 Electricity Bill Rs. (1,250.00)",
+                "Mar 05, 2025 Refund from Store CREDIT ₹300.00",
+                "06-Mar-25 Salary 50,000.00",
+                "2025-03-07 Rs. -99"
+        };
+        List<List<Object>> parsed = fromNew(StatementParsing.extractFromLines(lines));
+        assertThat(parsed).isEqualTo(fromLegacy(LegacyStatementParsing.extractFromLines(lines)));
+        assertThat(parsed).extracting(t -> t.get(1)).containsExactly("Paid to Corner Cafe DEBIT", "Electricity Bill");
+        assertThat(parsed).extracting(t -> t.get(2)).containsExactly(new BigDecimal("450.00"), new BigDecimal("1250.00"));
+    }
+
+    private static List<List<Object>> fromNew(List<ParsedTransaction> txs) {
+        return txs.stream().map(t -> Arrays.<Object>asList(t.date(), t.description(), t.amount(), t.raw())).toList();
+    }
+
+    private static List<List<Object>> fromLegacy(List<LegacyStatementParsing.Tx> txs) {
+        return txs.stream().map(t -> Arrays.<Object>asList(t.date(), t.description(), t.amount(), t.raw())).toList();
+    }
+}
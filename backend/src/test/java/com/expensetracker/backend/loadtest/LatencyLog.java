@@ -0,0 +1,43 @@
+package com.expensetracker.backend.loadtest;
+
+import java.util.Arrays;
+
+// Every latency sample of one operation, in nanoseconds; one per worker thread, merged for the report
+final class LatencyLog {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long nanos, boolean ok) {
+        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+        if (!ok) errors++;
+    }
+
+    void addAll(LatencyLog other) {
+        if (count + other.count > samples.length) samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + other.count));
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    void sort() {
+        Arrays.sort(samples, 0, count);
+    }
+
+    // Nearest-rank percentile of the sorted samples
+    long percentile(double p) {
+        if (count == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * count);
+        return samples[Math.max(0, Math.min(count, rank) - 1)];
+    }
+}
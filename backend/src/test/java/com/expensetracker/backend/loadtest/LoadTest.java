@@ -0,0 +1,339 @@
+package com.expensetracker.backend.loadtest;
+
+import com.expensetracker.backend.BackendApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Seeds users x expenses through the REST API, then drives a weighted request mix from a pool of workers
+// and reports throughput and latency percentiles per endpoint.
+//
+//   mvn -Ploadtest test-compile exec:exec [-Dloadtest.args="--users=50 --expenses=5000 --concurrency=32 --duration=60"]
+//
+// Without --target the app is started in-process on an in-memory H2 database in MySQL mode, initialized
+// from schema.sql like any other deployment; --jdbc-url points that embedded app at another database.
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int BULK_CHUNK = 5000;
+    private static final int IMPORT_ROWS = 20;
+    private static final String PASSWORD = "load-test-password";
+
+    enum Op { LOGIN, LIST, PAGE, CREATE, UPDATE, DELETE, IMPORT }
+
+    record Options(String target, String jdbcUrl, int users, int expenses, int concurrency,
+                   int warmupSeconds, int durationSeconds, Map<Op, Integer> mix) {
+
+        static Options parse(String[] args) {
+            Map<String, String> a = new LinkedHashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value: " + arg);
+                a.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            Map<Op, Integer> mix = new LinkedHashMap<>();
+            for (String part : a.getOrDefault("mix", "login:2,list:8,page:40,create:20,update:15,delete:10,import:5").split(",")) {
+                String[] kv = part.split(":");
+                mix.put(Op.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(kv[1].trim()));
+            }
+            return new Options(a.get("target"), a.get("jdbc-url"),
+                    Integer.parseInt(a.getOrDefault("users", "20")),
+                    Integer.parseInt(a.getOrDefault("expenses", "2000")),
+                    Integer.parseInt(a.getOrDefault("concurrency", "16")),
+                    Integer.parseInt(a.getOrDefault("warmup", "10")),
+                    Integer.parseInt(a.getOrDefault("duration", "30")),
+                    mix);
+        }
+    }
+
+    // A seeded account; ids holds expenses this run created, so updates and deletes never touch seed rows
+    static final class User {
+        final String username;
+        volatile String token;
+        long categoryId;
+        final ConcurrentLinkedDeque<Long> ids = new ConcurrentLinkedDeque<>();
+
+        User(String username) {
+            this.username = username;
+        }
+    }
+
+    private final Options options;
+    private final HttpClient http;
+    private final String base;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private LoadTest(Options options, String base) {
+        this.options = options;
+        this.base = base;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ConfigurableApplicationContext app = options.target() == null ? startEmbedded(options) : null;
+        try {
+            String base = app == null
+                    ? options.target()
+                    : "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            new LoadTest(options, base).run();
+        } finally {
+            if (app != null) app.close();
+        }
+    }
+
+    // Command-line properties outrank application.properties and the environment it reads
+    private static ConfigurableApplicationContext startEmbedded(Options options) {
+        String url = options.jdbcUrl() != null ? options.jdbcUrl()
+                : "jdbc:h2:mem:loadtest;MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(BackendApplication.class).run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + System.getProperty("loadtest.db.user", "sa"),
+                "--spring.datasource.password=" + System.getProperty("loadtest.db.password", ""),
+                "--app.jwt.secret=" + UUID.randomUUID() + UUID.randomUUID(),
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+    }
+
+    private void run() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(options.concurrency());
+        try {
+            long start = System.nanoTime();
+            List<User> users = seed(pool);
+            System.out.printf(Locale.ROOT, "Seeded %d users x %d expenses against %s in %.1fs%n",
+                    users.size(), options.expenses(), base, (System.nanoTime() - start) / 1e9);
+
+            if (options.warmupSeconds() > 0) drive(pool, users, options.warmupSeconds());
+            Map<Op, LatencyLog> results = drive(pool, users, options.durationSeconds());
+            report(results, options.durationSeconds());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // ---------- Seeding ----------
+    private List<User> seed(ExecutorService pool) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Future<User>> pending = new ArrayList<>();
+        for (int i = 0; i < options.users(); i++) {
+            String username = "lt-" + runId + "-" + i;
+            pending.add(pool.submit(() -> seedUser(username)));
+        }
+        List<User> users = new ArrayList<>();
+        for (Future<User> f : pending) users.add(f.get());
+        return users;
+    }
+
+    private User seedUser(String username) throws IOException, InterruptedException {
+        User u = new User(username);
+        expect(201, send(post("/api/users/register", null, credentials(username))));
+        login(u);
+        HttpResponse<String> category = expect(201, send(post("/api/categories", u.token, "{\"name\":\"Load\"}")));
+        u.categoryId = JSON.readTree(category.body()).get("id").asLong();
+
+        for (int done = 0; done < options.expenses(); done += BULK_CHUNK) {
+            int n = Math.min(BULK_CHUNK, options.expenses() - done);
+            StringBuilder body = new StringBuilder("{\"expenses\":[");
+            for (int i = 0; i < n; i++) {
+                if (i > 0) body.append(',');
+                body.append(expenseJson("Seed " + (done + i), u.categoryId));
+            }
+            body.append("]}");
+            expect(200, send(post("/api/expenses/bulk", u.token, body.toString())));
+        }
+        return u;
+    }
+
+    // ---------- Load ----------
+    private Map<Op, LatencyLog> drive(ExecutorService pool, List<User> users, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        Op[] wheel = wheel(options.mix());
+        List<Future<Map<Op, LatencyLog>>> workers = new ArrayList<>();
+        for (int w = 0; w < options.concurrency(); w++) {
+            int first = w;
+            workers.add(pool.submit(() -> {
+                Map<Op, LatencyLog> logs = new LinkedHashMap<>();
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int i = first; System.nanoTime() < deadline; i++) {
+                    User u = users.get(i % users.size());
+                    Op op = wheel[rnd.nextInt(wheel.length)];
+                    long t0 = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = execute(op, u, rnd);
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    logs.computeIfAbsent(op, k -> new LatencyLog()).record(System.nanoTime() - t0, ok);
+                }
+                return logs;
+            }));
+        }
+        Map<Op, LatencyLog> merged = new LinkedHashMap<>();
+        for (Op op : Op.values()) merged.put(op, new LatencyLog());
+        for (Future<Map<Op, LatencyLog>> f : workers) {
+            f.get().forEach((op, log) -> merged.get(op).addAll(log));
+        }
+        return merged;
+    }
+
+    private static Op[] wheel(Map<Op, Integer> mix) {
+        List<Op> out = new ArrayList<>();
+        mix.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) out.add(op);
+        });
+        if (out.isEmpty()) throw new IllegalArgumentException("Empty request mix");
+        return out.toArray(Op[]::new);
+    }
+
+    private boolean execute(Op op, User u, ThreadLocalRandom rnd) throws IOException, InterruptedException {
+        switch (op) {
+            case LOGIN:
+                return login(u);
+            case LIST:
+                return send(get("/api/expenses", u.token)).statusCode() == 200;
+            case PAGE:
+                return send(get("/api/expenses/page?limit=50", u.token)).statusCode() == 200;
+            case CREATE: {
+                HttpResponse<String> r = send(post("/api/expenses", u.token, expenseJson("Load " + sequence.incrementAndGet(), u.categoryId)));
+                if (r.statusCode() != 201) return false;
+                u.ids.add(JSON.readTree(r.body()).get("id").asLong());
+                return true;
+            }
+            case UPDATE: {
+                Long id = u.ids.peekLast();
+                // Nothing of ours to edit yet; count it as a create so the op still measures a write
+                if (id == null) return execute(Op.CREATE, u, rnd);
+                return send(put("/api/expenses/" + id, u.token, expenseJson("Edited " + sequence.incrementAndGet(), u.categoryId)))
+                        .statusCode() == 200;
+            }
+            case DELETE: {
+                Long id = u.ids.pollFirst();
+                if (id == null) return execute(Op.CREATE, u, rnd);
+                return send(delete("/api/expenses/" + id, u.token)).statusCode() == 204;
+            }
+            case IMPORT:
+                return send(csvUpload(u.token)).statusCode() == 200;
+            default:
+                throw new IllegalStateException(op.name());
+        }
+    }
+
+    private boolean login(User u) throws IOException, InterruptedException {
+        HttpResponse<String> r = send(post("/api/auth/login", null, credentials(u.username)));
+        if (r.statusCode() != 200) return false;
+        u.token = JSON.readTree(r.body()).get("token").asText();
+        return true;
+    }
+
+    // ---------- Requests ----------
+    private static String credentials(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private static String expenseJson(String description, long categoryId) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        LocalDate date = LocalDate.of(2024, 1, 1).plusDays(rnd.nextInt(730));
+        return String.format(Locale.ROOT, "{\"description\":\"%s\",\"amount\":%d.%02d,\"categoryId\":%d,\"expenseDate\":\"%s\"}",
+                description, 1 + rnd.nextInt(5000), rnd.nextInt(100), categoryId, date);
+    }
+
+    // Unique descriptions so the duplicate check never turns an import into a no-op
+    private HttpRequest csvUpload(String token) {
+        StringBuilder csv = new StringBuilder("Date,Description,Amount\n");
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            csv.append(LocalDate.of(2025, 1, 1).plusDays(i)).append(",Imported ")
+                    .append(sequence.incrementAndGet()).append(",-").append(10 + i).append(".50\n");
+        }
+        String boundary = "loadtest" + UUID.randomUUID();
+        String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + csv + "\r\n--" + boundary + "--\r\n";
+        return request("/api/expenses/import/csv", token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofSeconds(60));
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        return b;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return request(path, token).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String path, String token, String json) {
+        return request(path, token).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest delete(String path, String token) {
+        return request(path, token).DELETE().build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> expect(int status, HttpResponse<String> r) {
+        if (r.statusCode() != status) {
+            throw new IllegalStateException(r.request().method() + " " + r.uri() + " -> " + r.statusCode() + ": " + r.body());
+        }
+        return r;
+    }
+
+    // ---------- Report ----------
+    private static void report(Map<Op, LatencyLog> results, int seconds) {
+        System.out.printf(Locale.ROOT, "%n%-8s %9s %7s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        LatencyLog total = new LatencyLog();
+        results.forEach((op, log) -> {
+            if (log.count() == 0) return;
+            print(op.name().toLowerCase(Locale.ROOT), log, seconds);
+            total.addAll(log);
+        });
+        print("all", total, seconds);
+    }
+
+    private static void print(String name, LatencyLog log, int seconds) {
+        log.sort();
+        System.out.printf(Locale.ROOT, "%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, log.count(), log.errors(), log.count() / (double) seconds,
+                log.percentile(50) / 1e6, log.percentile(90) / 1e6, log.percentile(99) / 1e6, log.percentile(100) / 1e6);
+    }
+}
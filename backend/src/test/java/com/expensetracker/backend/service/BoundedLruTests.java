@@ -0,0 +1,21 @@
+package com.expensetracker.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedLruTests {
+
+    @Test
+    void dropsTheLeastRecentlyUsedEntryPastTheBound() {
+        Map<String, Integer> lru = BoundedLru.synchronizedMap(2);
+        lru.put("a", 1);
+        lru.put("b", 2);
+        lru.get("a");
+        lru.put("c", 3);
+
+        assertThat(lru).containsOnlyKeys("a", "c");
+    }
+}
@@ -0,0 +1,56 @@
+package com.expensetracker.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordReaderTests {
+
+    @Test
+    void quotedFieldsKeepDelimitersQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = read("""
+                date,description,amount
+                2026-04-01,"Dinner, drinks",42.00
+                2026-04-02,"Says \"\"hi\"\"",1.00
+                2026-04-03,"two
+                lines",3.00
+                """);
+        assertThat(records).containsExactly(
+                List.of("date", "description", "amount"),
+                List.of("2026-04-01", "Dinner, drinks", "42.00"),
+                List.of("2026-04-02", "Says \"hi\"", "1.00"),
+                List.of("2026-04-03", "two\nlines", "3.00"));
+    }
+
+    @Test
+    void crlfLineEndsAndAMissingFinalNewline() throws IOException {
+        assertThat(read("a,b\r\n1,2\r\n3,4")).containsExactly(List.of("a", "b"), List.of("1", "2"), List.of("3", "4"));
+    }
+
+    @Test
+    void theDelimiterIsSniffedFromTheFirstLineAndABomIsDropped() throws IOException {
+        assertThat(read("\uFEFFdate;description;amount\n2026-04-01;Rent, April;900,00\n"))
+                .containsExactly(List.of("date", "description", "amount"), List.of("2026-04-01", "Rent, April", "900,00"));
+        assertThat(read("date\tamount\n2026-04-01\t1,200.00\n"))
+                .containsExactly(List.of("date", "amount"), List.of("2026-04-01", "1,200.00"));
+    }
+
+    @Test
+    void emptyFieldsAndBlankLinesArePreserved() throws IOException {
+        assertThat(read("a,,c\n\n,,\n")).containsExactly(List.of("a", "", "c"), List.of(""), List.of("", "", ""));
+    }
+
+    private static List<List<String>> read(String csv) throws IOException {
+        List<List<String>> out = new ArrayList<>();
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            List<String> record;
+            while ((record = reader.next()) != null) out.add(record);
+        }
+        return out;
+    }
+}
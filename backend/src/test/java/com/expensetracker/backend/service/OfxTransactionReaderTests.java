@@ -0,0 +1,107 @@
+package com.expensetracker.backend.service;
+
+import com.expensetracker.backend.service.StatementParsing.ParsedTransaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfxTransactionReaderTests {
+
+    // OFX 1.x: SGML headers, leaf tags never closed
+    private static final String SGML = """
+            OFXHEADER:100
+            DATA:OFXSGML
+            VERSION:102
+
+            <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+            <STMTTRN>
+            <TRNTYPE>DEBIT
+            <DTPOSTED>20251004120000[-5:EST]
+            <TRNAMT>-250.00
+            <NAME>GARUDA CAFE
+            <MEMO>POS 1601
+            </STMTTRN>
+            <STMTTRN>
+            <TRNTYPE>CREDIT
+            <DTPOSTED>20251005
+            <TRNAMT>1,200.50
+            <NAME>SALARY &amp; BONUS
+            </STMTTRN>
+            </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+            """;
+
+    // OFX 2.x: an XML document with closed tags
+    private static final String XML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <?OFX OFXHEADER="200" VERSION="220"?>
+            <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+              <STMTTRN>
+                <TRNTYPE>DEBIT</TRNTYPE>
+                <DTPOSTED>20251004</DTPOSTED>
+                <TRNAMT>-250.00</TRNAMT>
+                <NAME>GARUDA CAFE</NAME>
+              </STMTTRN>
+              <stmttrn>
+                <trntype>DEBIT</trntype>
+                <dtposted>20251006</dtposted>
+                <trnamt>-9,99</trnamt>
+                <memo>Card fee</memo>
+              </stmttrn>
+            </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+            """;
+
+    @Test
+    void readsSgmlWithUnclosedLeafTags() throws IOException {
+        List<ParsedTransaction> txs = read(SGML);
+        assertThat(txs).hasSize(2);
+        assertThat(txs.get(0).date()).isEqualTo(LocalDate.of(2025, 10, 4));
+        assertThat(txs.get(0).amount()).isEqualByComparingTo("-250.00");
+        assertThat(txs.get(0).description()).isEqualTo("GARUDA CAFE");
+        // Thousands separators and entities
+        assertThat(txs.get(1).amount()).isEqualByComparingTo("1200.50");
+        assertThat(txs.get(1).description()).isEqualTo("SALARY & BONUS");
+    }
+
+    @Test
+    void readsXmlWithClosedTagsInAnyCase() throws IOException {
+        List<ParsedTransaction> txs = read(XML);
+        assertThat(txs).extracting(ParsedTransaction::date)
+                .containsExactly(LocalDate.of(2025, 10, 4), LocalDate.of(2025, 10, 6));
+        // A decimal comma, and the memo standing in for a missing name
+        assertThat(txs.get(1).amount()).isEqualByComparingTo(new BigDecimal("-9.99"));
+        assertThat(txs.get(1).description()).isEqualTo("Card fee");
+    }
+
+    @Test
+    void unusableEntriesComeBackWithoutADate() throws IOException {
+        List<ParsedTransaction> txs = read("""
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>garbage<TRNAMT>-1.00<NAME>Bad date</STMTTRN>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20251004<TRNAMT>n/a<NAME>Bad amount</STMTTRN>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20251004<TRNAMT>-2.00</STMTTRN>
+                """);
+        assertThat(txs).extracting(ParsedTransaction::date).containsExactly(null, null, LocalDate.of(2025, 10, 4));
+        assertThat(txs.get(2).description()).isEqualTo("Transaction");
+    }
+
+    @Test
+    void aTruncatedFileEndsCleanly() throws IOException {
+        assertThat(read("<OFX><STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20251004<TRNAMT>-5")).hasSize(1);
+        assertThat(read("")).isEmpty();
+    }
+
+    private static List<ParsedTransaction> read(String ofx) throws IOException {
+        List<ParsedTransaction> out = new ArrayList<>();
+        try (OfxTransactionReader reader = new OfxTransactionReader(new StringReader(ofx))) {
+            ParsedTransaction t;
+            while ((t = reader.next()) != null) out.add(t);
+        }
+        return out;
+    }
+}